@@ -0,0 +1,16 @@
+package com.example.Project_Management.config;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the password-hashing pool's queue is full. AuthController turns
+ * it into 429 with a Retry-After header; elsewhere it maps to a plain 429.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class HashingCapacityExceededException extends RuntimeException {
+
+    public HashingCapacityExceededException(String message) {
+        super(message);
+    }
+}
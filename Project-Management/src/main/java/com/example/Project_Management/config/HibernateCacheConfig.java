@@ -0,0 +1,105 @@
+package com.example.Project_Management.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache backed by Caffeine through JCache.
+ *
+ * Every region is created up front with its own size and TTL, which can be
+ * overridden per region:
+ *   hibernate-cache.<region>.max-size
+ *   hibernate-cache.<region>.ttl-seconds   (0 = no expiry)
+ *
+ * Cache statistics are published through Micrometer as hibernate.* metrics.
+ * Statistics also make Hibernate log a metrics block for every session, so
+ * that logger is set to WARN unless logging.level configures it.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    // region -> {max size, ttl seconds}
+    private static final Map<String, long[]> REGIONS = new LinkedHashMap<>();
+
+    static {
+        REGIONS.put("users", new long[]{10_000, 600});
+        REGIONS.put("users.byRole", new long[]{100, 300});
+        REGIONS.put("projects", new long[]{5_000, 600});
+        REGIONS.put("project.assignedEmployees", new long[]{5_000, 600});
+        REGIONS.put("project.tasks", new long[]{5_000, 600});
+        REGIONS.put("tasks", new long[]{50_000, 600});
+        REGIONS.put("task.assignedEmployees", new long[]{50_000, 600});
+        REGIONS.put("default-query-results-region", new long[]{1_000, 300});
+        // must outlive every cached query result, so it never expires
+        REGIONS.put("default-update-timestamps-region", new long[]{10_000, 0});
+    }
+
+    private static final String SESSION_METRICS_LOGGER =
+            "org.hibernate.engine.internal.StatisticalLoggingSessionEventListener";
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private LoggingSystem loggingSystem;
+
+    @PostConstruct
+    void quietSessionMetrics() {
+        if (!environment.containsProperty("logging.level." + SESSION_METRICS_LOGGER)) {
+            loggingSystem.setLogLevel(SESSION_METRICS_LOGGER, LogLevel.WARN);
+        }
+    }
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = Caching
+                .getCachingProvider("com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider")
+                .getCacheManager(URI.create("hibernate-second-level-cache"), getClass().getClassLoader());
+
+        REGIONS.forEach((region, defaults) -> {
+            long maxSize = environment.getProperty("hibernate-cache." + region + ".max-size", Long.class, defaults[0]);
+            long ttlSeconds = environment.getProperty("hibernate-cache." + region + ".ttl-seconds", Long.class, defaults[1]);
+
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+            if (ttlSeconds > 0) {
+                configuration.setExpireAfterWrite(OptionalLong.of(Duration.ofSeconds(ttlSeconds).toNanos()));
+            }
+            configuration.setStatisticsEnabled(true);
+
+            if (cacheManager.getCache(region) == null) {
+                cacheManager.createCache(region, configuration);
+            }
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", true);
+            properties.put("hibernate.cache.use_query_cache", true);
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+            // evict cached Project.tasks when a task is saved through the owning side
+            properties.put("hibernate.cache.auto_evict_collection_cache", true);
+            properties.put("hibernate.generate_statistics", true);
+        };
+    }
+}
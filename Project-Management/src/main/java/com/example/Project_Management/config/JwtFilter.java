@@ -1,7 +1,10 @@
 package com.example.Project_Management.config;
 
+import com.example.Project_Management.model.User;
+import com.example.Project_Management.model.UserPrincipal;
 import com.example.Project_Management.service.JwtService;
 import com.example.Project_Management.service.MyUserDetailsService;
+import com.example.Project_Management.service.TokenVersionRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,6 +20,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Date;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
@@ -27,6 +31,9 @@ public class JwtFilter extends OncePerRequestFilter {
     @Autowired
     ApplicationContext context;
 
+    @Autowired
+    TokenVersionRegistry tokenVersionRegistry;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
@@ -35,10 +42,15 @@ public class JwtFilter extends OncePerRequestFilter {
 
         if (authHeader != null && authHeader.startsWith("Bearer ")){
             token = authHeader.substring(7);
+            // verified once here; validateToken below is served from the verified-token cache
             userName= jwtService.extractUsername(token);
         }
 
-        if(userName != null && SecurityContextHolder.getContext().getAuthentication()==null){
+        if(userName != null && SecurityContextHolder.getContext().getAuthentication()==null
+                && jwtService.isStateless()){
+            authenticateFromClaims(token, request);
+        }
+        else if(userName != null && SecurityContextHolder.getContext().getAuthentication()==null){
 
             UserDetails userDetails = context.getBean(MyUserDetailsService.class).loadUserByUsername(userName);
 
@@ -51,4 +63,26 @@ public class JwtFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    // stateless mode: the principal is rebuilt from verified claims, no repository call
+    private void authenticateFromClaims(String token, HttpServletRequest request) {
+        JwtService.VerifiedToken verified = jwtService.verify(token);
+
+        if (!verified.expiration().after(new Date())
+                || !tokenVersionRegistry.isCurrent(verified.userId(), verified.tokenVersion())) {
+            return;
+        }
+
+        User user = new User();
+        user.setId(verified.userId());
+        user.setUsername(verified.username());
+        user.setRole(verified.role());
+        user.setTokenVersion(verified.tokenVersion());
+        UserPrincipal principal = new UserPrincipal(user);
+
+        UsernamePasswordAuthenticationToken authToken =
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
 }
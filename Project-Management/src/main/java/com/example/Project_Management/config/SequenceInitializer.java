@@ -0,0 +1,73 @@
+package com.example.Project_Management.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Makes sure the id sequences behind the entities exist and are ahead of the
+ * ids already in their tables, which matters for databases whose rows were
+ * created while the ids were still identity columns.
+ *
+ * Runs before the web server starts accepting requests.
+ */
+@Component
+public class SequenceInitializer {
+
+    // must match allocationSize on the entities' @SequenceGenerator
+    public static final int ALLOCATION_SIZE = 50;
+
+    private static final Logger log = LoggerFactory.getLogger(SequenceInitializer.class);
+
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "users_seq", "users",
+            "projects_seq", "projects",
+            "tasks_seq", "tasks",
+            "project_comments_seq", "project_comments",
+            "task_comments_seq", "task_comments"
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void init() {
+        SEQUENCES.forEach(this::synchronize);
+    }
+
+    /**
+     * SQL that returns the next value of the given sequence. With the pooled
+     * optimizer a value v reserves the ids v - ALLOCATION_SIZE + 1 through v.
+     */
+    public String nextValueSql(String sequence) {
+        return dialect().getSequenceSupport().getSequenceNextValString(sequence);
+    }
+
+    private void synchronize(String sequence, String table) {
+        jdbcTemplate.execute("create sequence if not exists " + sequence
+                + " start with 1 increment by " + ALLOCATION_SIZE);
+
+        long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+        long next = jdbcTemplate.queryForObject(nextValueSql(sequence), Long.class);
+        // the block after this one starts at next + 1
+        if (next < maxId) {
+            jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (maxId + ALLOCATION_SIZE));
+            log.info("Advanced {} past existing ids in {} (max id {})", sequence, table, maxId);
+        }
+    }
+
+    private Dialect dialect() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+}
@@ -1,14 +1,19 @@
 package com.example.Project_Management.controller;
 
+import com.example.Project_Management.config.HashingCapacityExceededException;
 import com.example.Project_Management.model.User;
+import com.example.Project_Management.model.UserPrincipal;
 import com.example.Project_Management.model.dto.Login;
 import com.example.Project_Management.model.dto.LoginResponse;
 import com.example.Project_Management.model.dto.UserRegister;
 import com.example.Project_Management.model.dto.UserResponse;
 import com.example.Project_Management.service.JwtService;
+import com.example.Project_Management.service.MyUserDetailsService;
 import com.example.Project_Management.service.UserService;
 import org.apache.coyote.Response;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -29,11 +34,18 @@ public class AuthController {
     @Autowired
     private AuthenticationManager authenticationManager;
 
+    @Autowired
+    private MyUserDetailsService userDetailsService;
+
+    @Value("${auth.hashing.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
     @PostMapping("/register")
     public ResponseEntity<LoginResponse> register(@RequestBody UserRegister userRegister){
         UserResponse userResponse = userService.registerUser(userRegister);
 
-        String token = jwtService.generateToken(userResponse.username());
+        UserPrincipal principal = (UserPrincipal) userDetailsService.loadUserByUsername(userResponse.username());
+        String token = jwtService.generateToken(principal.getUser());
 
         LoginResponse loginResponse = new LoginResponse(
                 token,
@@ -51,14 +63,13 @@ public class AuthController {
         );
 
         if(authentication.isAuthenticated()){
-            String token = jwtService.generateToken(credentials.username());
-
-            UserResponse userResponse = userService.getUserByUsername(credentials.username());
+            User user = ((UserPrincipal) authentication.getPrincipal()).getUser();
+            String token = jwtService.generateToken(user);
 
             LoginResponse loginResponse = new LoginResponse(
                     token,
-                    userResponse.username(),
-                    userResponse.role() != null ? userResponse.role() : "EMPLOYEE"
+                    user.getUsername(),
+                    user.getRole() != null ? user.getRole() : "EMPLOYEE"
             );
 
             return ResponseEntity.ok(loginResponse);
@@ -66,4 +77,11 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
     }
+
+    @ExceptionHandler(HashingCapacityExceededException.class)
+    public ResponseEntity<Void> hashingCapacityExceeded(){
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .build();
+    }
 }
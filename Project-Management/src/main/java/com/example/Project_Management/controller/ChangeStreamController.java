@@ -0,0 +1,28 @@
+package com.example.Project_Management.controller;
+
+import com.example.Project_Management.config.CurrentUser;
+import com.example.Project_Management.model.UserPrincipal;
+import com.example.Project_Management.service.ChangeStreamService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api")
+public class ChangeStreamController {
+
+    @Autowired
+    private ChangeStreamService changeStreamService;
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@CurrentUser UserPrincipal currentUser,
+                                    @RequestParam(required = false) Set<Long> projectIds){
+        return changeStreamService.subscribe(currentUser, projectIds);
+    }
+}
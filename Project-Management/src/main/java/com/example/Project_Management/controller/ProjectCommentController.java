@@ -1,11 +1,14 @@
 package com.example.Project_Management.controller;
 
 
+import com.example.Project_Management.config.CurrentUser;
 import com.example.Project_Management.model.ProjectComment;
+import com.example.Project_Management.model.UserPrincipal;
+import com.example.Project_Management.model.dto.CursorPage;
+import com.example.Project_Management.model.dto.FeedChanges;
 import com.example.Project_Management.model.dto.ProjectCommentCreate;
 import com.example.Project_Management.model.dto.ProjectCommentResponse;
 import com.example.Project_Management.model.dto.ProjectCommentUpdate;
-import com.example.Project_Management.service.JwtService;
 import com.example.Project_Management.service.ProjectCommentService;
 import org.apache.coyote.Response;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,9 +24,6 @@ public class ProjectCommentController {
     @Autowired
     private ProjectCommentService projectCommentService;
 
-    @Autowired
-    private JwtService jwtService;
-
     //Get all comments
     @GetMapping("/projects/{projectId}/comments")
     public ResponseEntity<List<ProjectCommentResponse>> getAllProjectComments(@PathVariable long projectId) {
@@ -31,12 +31,27 @@ public class ProjectCommentController {
         return ResponseEntity.ok(comments);
     }
 
-    @GetMapping("project-comments/my-comments")
-    public ResponseEntity<List<ProjectCommentResponse>> getMyProjectComments(@RequestHeader ("Authorization") String token) {
-        String jwt = token.substring(7);
-        String username = jwtService.extractUsername(jwt);
+    // newest-first pages via ?cursor=; the first page also returns since, to poll /feed/changes with
+    @GetMapping("/projects/{projectId}/comments/feed")
+    public ResponseEntity<CursorPage<ProjectCommentResponse>> getProjectCommentFeed(
+            @PathVariable long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(projectCommentService.getCommentFeed(projectId, cursor, size));
+    }
 
-        List<ProjectCommentResponse> comments = projectCommentService.getCommentsByUsername(username);
+    // comments created, edited or deleted after since; poll again with the since it returns
+    @GetMapping("/projects/{projectId}/comments/feed/changes")
+    public ResponseEntity<FeedChanges<ProjectCommentResponse>> getProjectCommentFeedChanges(
+            @PathVariable long projectId,
+            @RequestParam String since,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(projectCommentService.getCommentFeedChanges(projectId, since, size));
+    }
+
+    @GetMapping("project-comments/my-comments")
+    public ResponseEntity<List<ProjectCommentResponse>> getMyProjectComments(@CurrentUser UserPrincipal currentUser) {
+        List<ProjectCommentResponse> comments = projectCommentService.getCommentsByAuthorId(currentUser.getId());
         return ResponseEntity.ok(comments);
     }
 
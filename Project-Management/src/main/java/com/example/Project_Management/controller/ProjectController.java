@@ -1,17 +1,32 @@
 package com.example.Project_Management.controller;
 
+import com.example.Project_Management.config.CurrentUser;
 import com.example.Project_Management.model.Project;
+import com.example.Project_Management.model.UserPrincipal;
+import com.example.Project_Management.model.dto.CursorPage;
+import com.example.Project_Management.model.dto.Include;
 import com.example.Project_Management.model.dto.ProjectCreate;
 import com.example.Project_Management.model.dto.ProjectResponse;
+import com.example.Project_Management.model.dto.ProjectStatsResponse;
+import com.example.Project_Management.model.dto.ProjectSummary;
 import com.example.Project_Management.model.dto.ProjectUpdate;
-import com.example.Project_Management.service.JwtService;
+import com.example.Project_Management.model.dto.PurgeStatus;
+import com.example.Project_Management.service.ProjectPurgeService;
+import com.example.Project_Management.service.ProjectResponseCache;
 import com.example.Project_Management.service.ProjectService;
+import com.example.Project_Management.service.ProjectStatsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.context.request.WebRequest;
 
+import java.net.URI;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api")
@@ -21,28 +36,81 @@ public class ProjectController {
     private ProjectService projectService;
 
     @Autowired
-    private JwtService jwtService;
+    private ProjectResponseCache projectResponseCache;
+
+    @Autowired
+    private ProjectPurgeService projectPurgeService;
+
+    @Autowired
+    private ProjectStatsService projectStatsService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @GetMapping("/projects")
-    public ResponseEntity<List<ProjectResponse>> getAllProjectResponses(){
-        List<ProjectResponse> projects = projectService.getAllProjectResponses();
-        return ResponseEntity.ok(projects);
+    public ResponseEntity<List<ProjectResponse>> getAllProjectResponses(@RequestParam(required = false) String include,
+                                                                        WebRequest request){
+        Set<Include> includes = Include.parse(include);
+        String etag = projectService.getProjectsETag(includes);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        List<ProjectResponse> projects = projectService.getAllProjectResponses(includes);
+        return ResponseEntity.ok().eTag(etag).body(projects);
+    }
+
+    @GetMapping("/projects/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllProjects(){
+        return JsonArrayStream.<ProjectResponse>of(objectMapper, projectService::streamAllProjects);
     }
 
     @GetMapping("/projects/my-projects")
-    public ResponseEntity<List<ProjectResponse>> getMyProjects(@RequestHeader("Authorization") String token){
+    public ResponseEntity<List<ProjectResponse>> getMyProjects(@CurrentUser UserPrincipal currentUser,
+                                                               @RequestParam(required = false) String include,
+                                                               WebRequest request){
+        Set<Include> includes = Include.parse(include);
+        String etag = projectService.getProjectsETag(includes) + "-me" + currentUser.getId();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        List<ProjectResponse> projects = projectService.getProjectsByUserId(currentUser.getId(), includes);
+        return ResponseEntity.ok().eTag(etag).body(projects);
+    }
+
+    @GetMapping("/projects/summary")
+    public ResponseEntity<CursorPage<ProjectSummary>> getProjectSummaries(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(projectService.getProjectSummaries(cursor, size));
+    }
 
-        String jwt = token.substring(7);
-        String username = jwtService.extractUsername(jwt);
+    @GetMapping("/projects/stats")
+    public ResponseEntity<List<ProjectStatsResponse>> getProjectStats() {
+        return ResponseEntity.ok(projectStatsService.getAllStats());
+    }
 
-        List<ProjectResponse> projects = projectService.getProjectsByUsername(username);
-        return ResponseEntity.ok(projects);
+    @GetMapping("/projects/my-projects/summary")
+    public ResponseEntity<CursorPage<ProjectSummary>> getMyProjectSummaries(
+            @CurrentUser UserPrincipal currentUser,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(projectService.getProjectSummariesByUserId(currentUser.getId(), cursor, size));
     }
 
     @GetMapping("/projects/{id}")
-    public ResponseEntity<ProjectResponse> getProjectById(@PathVariable Long id) {
-        ProjectResponse project = projectService.getProjectById(id);
-        return ResponseEntity.ok(project);
+    public ResponseEntity<byte[]> getProjectById(@PathVariable Long id,
+                                                 @RequestParam(required = false) String include,
+                                                 WebRequest request) {
+        Set<Include> includes = Include.parse(include);
+        String etag = projectService.getProjectETag(id, includes);
+        if (etag == null) {
+            throw new RuntimeException("Project not found with id: " + id);
+        }
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        byte[] body = projectResponseCache.get(id, etag, () -> projectService.getProjectById(id, includes));
+        return ResponseEntity.ok().eTag(etag).contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @PostMapping("/projects")
@@ -60,6 +128,19 @@ public class ProjectController {
         return ResponseEntity.ok(updatedProject);
     }
 
+    @PostMapping("/projects/{id}/purge")
+    public ResponseEntity<PurgeStatus> purgeProject(@PathVariable long id) {
+        PurgeStatus status = projectPurgeService.startPurge(id);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/projects/" + id + "/purge"))
+                .body(status);
+    }
+
+    @GetMapping("/projects/{id}/purge")
+    public ResponseEntity<PurgeStatus> getPurgeStatus(@PathVariable long id) {
+        return ResponseEntity.ok(projectPurgeService.getPurgeStatus(id));
+    }
+
     @DeleteMapping("/projects/{id}")
     public ResponseEntity<Void> deleteProject(@PathVariable long id) {
         projectService.deleteProject(id);
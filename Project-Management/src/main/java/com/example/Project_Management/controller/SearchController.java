@@ -0,0 +1,28 @@
+package com.example.Project_Management.controller;
+
+import com.example.Project_Management.config.CurrentUser;
+import com.example.Project_Management.model.UserPrincipal;
+import com.example.Project_Management.model.dto.SearchResults;
+import com.example.Project_Management.service.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api")
+public class SearchController {
+
+    @Autowired
+    private SearchService searchService;
+
+    @GetMapping("/search")
+    public ResponseEntity<SearchResults> search(@CurrentUser UserPrincipal currentUser,
+                                                @RequestParam String q,
+                                                @RequestParam(defaultValue = "0") int page,
+                                                @RequestParam(defaultValue = "20") int size){
+        return ResponseEntity.ok(searchService.search(q, currentUser, page, size));
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.Project_Management.controller;
+
+import com.example.Project_Management.config.CurrentUser;
+import com.example.Project_Management.model.UserPrincipal;
+import com.example.Project_Management.model.dto.SyncPage;
+import com.example.Project_Management.service.ChangeLogService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api")
+public class SyncController {
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @GetMapping("/sync")
+    public ResponseEntity<SyncPage> sync(@CurrentUser UserPrincipal currentUser,
+                                         @RequestParam(defaultValue = "0") long since,
+                                         @RequestParam(defaultValue = "500") int limit){
+        return ResponseEntity.ok(changeLogService.sync(currentUser, since, limit));
+    }
+}
@@ -1,11 +1,13 @@
 package com.example.Project_Management.controller;
 
 
+import com.example.Project_Management.config.CurrentUser;
+import com.example.Project_Management.model.UserPrincipal;
+import com.example.Project_Management.model.dto.CursorPage;
 import com.example.Project_Management.model.dto.TaskCommentCreate;
 import com.example.Project_Management.model.dto.TaskCommentResponse;
 import com.example.Project_Management.model.dto.TaskCommentUpdate;
 import com.example.Project_Management.repo.TaskCommentRepo;
-import com.example.Project_Management.service.JwtService;
 import com.example.Project_Management.service.TaskCommentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -21,21 +23,23 @@ public class TaskCommentController {
     @Autowired
     private TaskCommentService taskCommentService;
 
-    @Autowired
-    private JwtService jwtService;
-
     @GetMapping("/tasks/{taskId}/comments")
     public ResponseEntity<List<TaskCommentResponse>> getAllTaskComments(@PathVariable Long taskId) {
         List<TaskCommentResponse> comments = taskCommentService.getCommentsByTaskId(taskId);
         return ResponseEntity.ok(comments);
     }
 
-    @GetMapping("/tasks-comments/my-comments")
-    public ResponseEntity<List<TaskCommentResponse>> getMyTaskComments(@RequestHeader ("Authorization") String token) {
-        String jwt = token.substring(7);
-        String username = jwtService.extractUsername(jwt);
+    @GetMapping("/tasks/{taskId}/comments/timeline")
+    public ResponseEntity<CursorPage<TaskCommentResponse>> getTaskCommentTimeline(
+            @PathVariable Long taskId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(taskCommentService.getCommentTimeline(taskId, cursor, size));
+    }
 
-        List<TaskCommentResponse> comments = taskCommentService.getCommentsByUsername(username);
+    @GetMapping("/tasks-comments/my-comments")
+    public ResponseEntity<List<TaskCommentResponse>> getMyTaskComments(@CurrentUser UserPrincipal currentUser) {
+        List<TaskCommentResponse> comments = taskCommentService.getCommentsByAuthorId(currentUser.getId());
         return ResponseEntity.ok(comments);
     }
 
@@ -1,17 +1,25 @@
 package com.example.Project_Management.controller;
 
+import com.example.Project_Management.config.CurrentUser;
+import com.example.Project_Management.model.UserPrincipal;
+import com.example.Project_Management.model.dto.Include;
+import com.example.Project_Management.model.dto.TaskBulkResult;
+import com.example.Project_Management.model.dto.TaskBulkUpdate;
 import com.example.Project_Management.model.dto.TaskCreate;
 import com.example.Project_Management.model.dto.TaskResponse;
 import com.example.Project_Management.model.dto.TaskUpdate;
-import com.example.Project_Management.service.JwtService;
 import com.example.Project_Management.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.coyote.Response;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api")
@@ -21,31 +29,49 @@ public class TaskController {
     private TaskService taskService;
 
     @Autowired
-    private JwtService jwtService;
+    private ObjectMapper objectMapper;
 
     @GetMapping("/tasks")
-    public ResponseEntity<List<TaskResponse>> getAllTasks(){
-        List<TaskResponse> tasks = taskService.getAllTasks();
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<List<TaskResponse>> getAllTasks(@RequestParam(required = false) String include,
+                                                          WebRequest request){
+        Set<Include> includes = Include.parse(include);
+        String etag = taskService.getTasksETag(includes);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        List<TaskResponse> tasks = taskService.getAllTasks(includes);
+        return ResponseEntity.ok().eTag(etag).body(tasks);
+    }
+
+    @GetMapping("/tasks/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllTasks(){
+        return JsonArrayStream.<TaskResponse>of(objectMapper, taskService::streamAllTasks);
     }
 
     @GetMapping("/tasks/my-tasks")
-    public ResponseEntity<List<TaskResponse>> getMyTasks(@RequestHeader("Authorization") String token){
-        String  jwt = token.substring(7);
-        String username = jwtService.extractUsername(jwt);
-        List<TaskResponse> tasks = taskService.getTasksByUsername(username);
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<List<TaskResponse>> getMyTasks(@CurrentUser UserPrincipal currentUser,
+                                                         @RequestParam(required = false) String include,
+                                                         WebRequest request){
+        Set<Include> includes = Include.parse(include);
+        String etag = taskService.getTasksETag(includes) + "-me" + currentUser.getId();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        List<TaskResponse> tasks = taskService.getTasksByEmployeeId(currentUser.getId(), includes);
+        return ResponseEntity.ok().eTag(etag).body(tasks);
     }
 
     @GetMapping("/projects/{projectId}/tasks")
-    public ResponseEntity<List<TaskResponse>> getTasksByProject(@PathVariable long projectId){
-        List<TaskResponse> tasks = taskService.getTasksByProjectById(projectId);
+    public ResponseEntity<List<TaskResponse>> getTasksByProject(@PathVariable long projectId,
+                                                                @RequestParam(required = false) String include){
+        List<TaskResponse> tasks = taskService.getTasksByProjectById(projectId, Include.parse(include));
         return ResponseEntity.ok(tasks);
     }
 
     @GetMapping("/employees/{employeeId}/tasks")
-    public ResponseEntity<List<TaskResponse>> getTasksByEmployee(@PathVariable long employeeId){
-        List<TaskResponse> tasks = taskService.getTasksByEmployeeId(employeeId);
+    public ResponseEntity<List<TaskResponse>> getTasksByEmployee(@PathVariable long employeeId,
+                                                                 @RequestParam(required = false) String include){
+        List<TaskResponse> tasks = taskService.getTasksByEmployeeId(employeeId, Include.parse(include));
         return ResponseEntity.ok(tasks);
     }
 
@@ -61,6 +87,12 @@ public class TaskController {
         return ResponseEntity.ok(taskResponse);
     }
 
+    @PatchMapping("/tasks/bulk")
+    public ResponseEntity<TaskBulkResult> bulkUpdateTasks(@RequestBody TaskBulkUpdate bulkUpdate){
+        TaskBulkResult result = taskService.bulkUpdateTasks(bulkUpdate);
+        return ResponseEntity.ok(result);
+    }
+
     @DeleteMapping("/tasks/{id}")
     public ResponseEntity<Void> deleteTask(@PathVariable Long id){
         taskService.deleteTask(id);
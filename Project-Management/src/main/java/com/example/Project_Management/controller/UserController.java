@@ -1,12 +1,17 @@
 package com.example.Project_Management.controller;
 
+import com.example.Project_Management.config.CurrentUser;
 import com.example.Project_Management.model.User;
+import com.example.Project_Management.model.UserPrincipal;
+import com.example.Project_Management.model.dto.Include;
+import com.example.Project_Management.model.dto.MyWorkspaceResponse;
 import com.example.Project_Management.model.dto.PasswordUpdate;
 import com.example.Project_Management.model.dto.UserCreate;
 import com.example.Project_Management.model.dto.UserResponse;
 import com.example.Project_Management.model.dto.UserUpdate;
-import com.example.Project_Management.service.JwtService;
+import com.example.Project_Management.service.MyWorkspaceService;
 import com.example.Project_Management.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.coyote.Response;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -15,6 +20,8 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -26,12 +33,37 @@ public class UserController {
     private UserService userService;
 
     @Autowired
-    private JwtService jwtService;
+    private MyWorkspaceService myWorkspaceService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @GetMapping("/users")
-    public ResponseEntity<List<UserResponse>> getAllUsers(){
+    public ResponseEntity<List<UserResponse>> getAllUsers(WebRequest request){
+        String etag = userService.getUsersETag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         List<UserResponse> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+        return ResponseEntity.ok().eTag(etag).body(users);
+    }
+
+    @GetMapping("/users/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllUsers(){
+        return JsonArrayStream.<UserResponse>of(objectMapper, userService::streamAllUsers);
+    }
+
+    @GetMapping("/users/suggest")
+    public ResponseEntity<List<UserResponse>> suggestUsers(@RequestParam String prefix,
+                                                           @RequestParam(defaultValue = "10") int limit,
+                                                           @RequestParam(required = false) Long projectId){
+        return ResponseEntity.ok(userService.suggestUsers(prefix, limit, projectId));
+    }
+
+    @GetMapping("/me/workspace")
+    public ResponseEntity<MyWorkspaceResponse> getMyWorkspace(@CurrentUser UserPrincipal currentUser,
+                                                              @RequestParam(required = false) String include){
+        return ResponseEntity.ok(myWorkspaceService.getWorkspace(currentUser.getId(), Include.parse(include)));
     }
 
     @GetMapping("/users/{id}")
@@ -73,12 +105,9 @@ public class UserController {
     @GetMapping("/projects/{projectId}/colleagues")
     public ResponseEntity<List<UserResponse>> getColleaguesByProject(
             @PathVariable Long projectId,
-            @RequestHeader("Authorization") String token) {
-
-        String jwt = token.substring(7);
-        String username = jwtService.extractUsername(jwt);
+            @CurrentUser UserPrincipal currentUser) {
 
-        List<UserResponse> colleagues = userService.getColleaguesByProjectId(projectId, username);
+        List<UserResponse> colleagues = userService.getColleaguesByProjectId(projectId, currentUser.getId());
         return ResponseEntity.ok(colleagues);
     }
 
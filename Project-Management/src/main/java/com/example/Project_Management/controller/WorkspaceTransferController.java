@@ -0,0 +1,39 @@
+package com.example.Project_Management.controller;
+
+import com.example.Project_Management.model.dto.ImportReport;
+import com.example.Project_Management.service.WorkspaceTransferService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+
+// admin only, see SecurityConfig
+@RestController
+@RequestMapping("/api")
+public class WorkspaceTransferController {
+
+    @Autowired
+    private WorkspaceTransferService workspaceTransferService;
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportWorkspace(){
+        StreamingResponseBody body = workspaceTransferService::exportWorkspace;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"workspace.ndjson\"")
+                .body(body);
+    }
+
+    @PostMapping("/import")
+    public ResponseEntity<ImportReport> importWorkspace(InputStream body){
+        ImportReport report = workspaceTransferService.importWorkspace(body);
+        return ResponseEntity.ok(report);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.Project_Management.model;
+
+import com.example.Project_Management.model.dto.ChangeEvent;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * One committed change, in commit order. Written by ChangeLogService in the
+ * same transaction as the change itself and never updated.
+ *
+ * Recipients are the users who see the entry without being members of its
+ * project (see ChangeEvent).
+ */
+@Entity
+@Immutable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "change_log", indexes = {
+        @Index(name = "idx_change_log_project_seq", columnList = "project_id, seq"),
+        @Index(name = "idx_change_log_changed_at", columnList = "changed_at")
+})
+public class ChangeLogEntry {
+
+    @Id
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChangeEvent.Type type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChangeEvent.Action action;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    // null for users, which belong to no project
+    @Column(name = "project_id")
+    private Long projectId;
+
+    private Long taskId;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    @ElementCollection
+    @CollectionTable(name = "change_log_recipients", joinColumns = @JoinColumn(name = "seq"),
+            indexes = @Index(name = "idx_change_log_recipients_seq_user", columnList = "seq, user_id"))
+    @Column(name = "user_id")
+    private Set<Long> recipients = new HashSet<>();
+}
@@ -0,0 +1,28 @@
+package com.example.Project_Management.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The single row holding the last change-log sequence number handed out, and
+ * the highest one removed by retention. Writers lock it just before commit,
+ * so sequence numbers become visible in the order they were assigned.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "change_log_head")
+public class ChangeLogHead {
+
+    public static final Long ID = 1L;
+
+    @Id
+    private Long id;
+
+    private long seq;
+
+    private long prunedThrough;
+}
@@ -11,11 +11,13 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name="project_comments")
+@Table(name="project_comments",
+        indexes = @Index(name = "idx_project_comments_project_created", columnList = "project_id, created_at, id"))
 public class ProjectComment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_comments_seq")
+    @SequenceGenerator(name = "project_comments_seq", sequenceName = "project_comments_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 2000)
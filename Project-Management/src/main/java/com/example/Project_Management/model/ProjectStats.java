@@ -0,0 +1,50 @@
+package com.example.Project_Management.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-project task and comment counters, kept current by ProjectStatsService.
+ * Status and priority are free-form, so their counts are keyed by value.
+ * Overdue counts depend on the clock and are not stored. The version orders
+ * commits of the same row, so the in-memory copy never goes back to an
+ * older one.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "project_stats")
+public class ProjectStats {
+
+    @Id
+    private Long projectId;
+
+    private int tasksTotal;
+
+    @ElementCollection
+    @CollectionTable(name = "project_stats_status", joinColumns = @JoinColumn(name = "project_id"))
+    @MapKeyColumn(name = "status")
+    @Column(name = "task_count")
+    private Map<String, Integer> byStatus = new HashMap<>();
+
+    @ElementCollection
+    @CollectionTable(name = "project_stats_priority", joinColumns = @JoinColumn(name = "project_id"))
+    @MapKeyColumn(name = "priority")
+    @Column(name = "task_count")
+    private Map<String, Integer> byPriority = new HashMap<>();
+
+    private int projectComments;
+    private int taskComments;
+
+    private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
+}
@@ -12,10 +12,12 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "task_comments")
+@Table(name = "task_comments",
+        indexes = @Index(name = "idx_task_comments_task_created", columnList = "task_id, created_at, id"))
 public class TaskComment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_comments_seq")
+    @SequenceGenerator(name = "task_comments_seq", sequenceName = "task_comments_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 2000)
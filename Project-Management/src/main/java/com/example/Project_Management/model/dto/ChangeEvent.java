@@ -0,0 +1,76 @@
+package com.example.Project_Management.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * One committed create, update or delete, published by the services as an
+ * application event. {@code projectId} is the project the entity belongs to,
+ * which is what subscribers are filtered by; users belong to no project and
+ * reach everyone. {@code taskId} is set for tasks and task comments.
+ *
+ * {@code recipients} are users the change must reach even though they are no
+ * longer members: the former members of a deleted project, or the users a
+ * REMOVED change tells that they lost access. REMOVED reaches nobody else.
+ */
+public record ChangeEvent(
+        Type type,
+        Action action,
+        Long id,
+        Long projectId,
+        Long taskId,
+        LocalDateTime at,
+        @JsonIgnore Set<Long> recipients
+) {
+
+    public enum Type {
+        PROJECT,
+        TASK,
+        PROJECT_COMMENT,
+        TASK_COMMENT,
+        USER
+    }
+
+    public enum Action {
+        CREATED,
+        UPDATED,
+        DELETED,
+        // the recipients are no longer members of the project
+        REMOVED
+    }
+
+    public static ChangeEvent project(Action action, Long projectId) {
+        return new ChangeEvent(Type.PROJECT, action, projectId, projectId, null, LocalDateTime.now(), Set.of());
+    }
+
+    public static ChangeEvent projectDeleted(Long projectId, Collection<Long> memberIds) {
+        return new ChangeEvent(Type.PROJECT, Action.DELETED, projectId, projectId, null, LocalDateTime.now(),
+                Set.copyOf(memberIds));
+    }
+
+    public static ChangeEvent projectRemoved(Long projectId, Collection<Long> userIds) {
+        return new ChangeEvent(Type.PROJECT, Action.REMOVED, projectId, projectId, null, LocalDateTime.now(),
+                Set.copyOf(userIds));
+    }
+
+    public static ChangeEvent user(Action action, Long userId) {
+        return new ChangeEvent(Type.USER, action, userId, null, null, LocalDateTime.now(), Set.of());
+    }
+
+    public static ChangeEvent task(Action action, Long taskId, Long projectId) {
+        return new ChangeEvent(Type.TASK, action, taskId, projectId, taskId, LocalDateTime.now(), Set.of());
+    }
+
+    public static ChangeEvent projectComment(Action action, Long commentId, Long projectId) {
+        return new ChangeEvent(Type.PROJECT_COMMENT, action, commentId, projectId, null, LocalDateTime.now(),
+                Set.of());
+    }
+
+    public static ChangeEvent taskComment(Action action, Long commentId, Long taskId, Long projectId) {
+        return new ChangeEvent(Type.TASK_COMMENT, action, commentId, projectId, taskId, LocalDateTime.now(),
+                Set.of());
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.Project_Management.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. nextCursor is null on the last page;
+ * otherwise pass it back unchanged to fetch the following page.
+ *
+ * Feeds that can be polled for changes also return {@code since} with the
+ * first page: the position to pass to the feed's changes endpoint to receive
+ * only what changes afterwards.
+ */
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String since
+) {
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this(items, nextCursor, null);
+    }
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    public static int pageSize(int requested) {
+        return Math.max(1, Math.min(requested, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Builds a page from a query that was asked for {@code limit + 1} rows; the
+     * extra row only signals that another page exists.
+     */
+    public static <T> CursorPage<T> fromRows(List<T> rows, int limit, Function<T, KeysetCursor> positionOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, positionOf.apply(items.get(limit - 1)).encode());
+    }
+}
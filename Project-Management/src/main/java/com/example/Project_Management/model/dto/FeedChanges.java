@@ -0,0 +1,20 @@
+package com.example.Project_Management.model.dto;
+
+import java.util.List;
+
+/**
+ * What changed in a polled listing since the client's position: the items
+ * created or edited since then, oldest change first, and the ids of the ones
+ * deleted. Items replace the client's copy with the same id, so one seen
+ * twice is harmless. {@code since} is the position to poll from next time;
+ * {@code hasMore} means more changes are waiting right away. {@code resync}
+ * means the position is too old to answer, so the client reloads the listing.
+ */
+public record FeedChanges<T>(
+        List<T> items,
+        List<Long> deletedIds,
+        String since,
+        boolean hasMore,
+        boolean resync
+) {
+}
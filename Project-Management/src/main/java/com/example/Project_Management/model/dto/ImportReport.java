@@ -0,0 +1,12 @@
+package com.example.Project_Management.model.dto;
+
+import java.util.Map;
+
+public record ImportReport(
+        Map<String, Long> inserted,
+        long matchedUsers,
+        long rows,
+        long elapsedMillis,
+        double rowsPerSecond
+) {
+}
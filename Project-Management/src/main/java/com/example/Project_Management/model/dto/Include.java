@@ -0,0 +1,50 @@
+package com.example.Project_Management.model.dto;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Nested associations a client can ask for with the {@code include} query
+ * parameter on project and task reads, e.g. {@code ?include=tasks,employees}.
+ * Associations that are not requested are neither loaded nor serialized.
+ *
+ * Omitting the parameter keeps the full response; an empty value returns the
+ * bare headers.
+ */
+public enum Include {
+    TASKS,
+    COMMENTS,
+    EMPLOYEES,
+    TASK_COMMENTS;
+
+    public static Set<Include> parse(String include) {
+        if (include == null) {
+            return EnumSet.allOf(Include.class);
+        }
+
+        Set<Include> includes = EnumSet.noneOf(Include.class);
+        for (String part : include.split(",")) {
+            String name = part.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            switch (name.toLowerCase()) {
+                case "tasks" -> includes.add(TASKS);
+                case "comments" -> includes.add(COMMENTS);
+                case "employees" -> includes.add(EMPLOYEES);
+                case "taskcomments", "task_comments" -> includes.add(TASK_COMMENTS);
+                default -> throw new RuntimeException("Unknown include: " + name);
+            }
+        }
+        return includes;
+    }
+
+    // compact, order-independent key for a selection, used in ETags
+    public static int mask(Set<Include> includes) {
+        int mask = 0;
+        for (Include include : includes) {
+            mask |= 1 << include.ordinal();
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.Project_Management.model.dto;
+
+import java.util.List;
+
+public record MyWorkspaceResponse(
+        List<ProjectResponse> projects,
+        List<TaskResponse> tasks,
+        List<ProjectCommentResponse> projectComments,
+        List<TaskCommentResponse> taskComments
+) {
+}
@@ -1,5 +1,6 @@
 package com.example.Project_Management.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.springframework.cglib.core.Local;
 
 import java.time.LocalDateTime;
@@ -12,10 +13,10 @@ public record ProjectResponse(
         String status,
         LocalDateTime startDate,
         LocalDateTime endDate,
-        List<String> assignedEmployeeNames,
+        @JsonInclude(JsonInclude.Include.NON_NULL) List<String> assignedEmployeeNames,
         String createdByAdminName,
-        List<TaskResponse> tasks,
-        List<ProjectCommentResponse> comments,
+        @JsonInclude(JsonInclude.Include.NON_NULL) List<TaskResponse> tasks,
+        @JsonInclude(JsonInclude.Include.NON_NULL) List<ProjectCommentResponse> comments,
         LocalDateTime createdAt
 ) {
 }
@@ -0,0 +1,16 @@
+package com.example.Project_Management.model.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public record ProjectStatsResponse(
+        Long projectId,
+        int tasksTotal,
+        Map<String, Integer> byStatus,
+        Map<String, Integer> byPriority,
+        int overdue,
+        int projectComments,
+        int taskComments,
+        LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,15 @@
+package com.example.Project_Management.model.dto;
+
+import java.time.LocalDateTime;
+
+public record ProjectSummary(
+        Long id,
+        String title,
+        String status,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        LocalDateTime createdAt,
+        Long taskCount,
+        Long commentCount
+) {
+}
@@ -0,0 +1,16 @@
+package com.example.Project_Management.model.dto;
+
+import java.time.LocalDateTime;
+
+public record PurgeStatus(
+        Long projectId,
+        String state,
+        long tasksTotal,
+        long tasksDeleted,
+        long projectCommentsTotal,
+        long projectCommentsDeleted,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        String error
+) {
+}
@@ -0,0 +1,15 @@
+package com.example.Project_Management.model.dto;
+
+/**
+ * One search result. taskId is set for tasks and task comments so clients
+ * can link straight to the task.
+ */
+public record SearchHit(
+        String type,
+        Long id,
+        Long projectId,
+        Long taskId,
+        String title,
+        double score
+) {
+}
@@ -0,0 +1,11 @@
+package com.example.Project_Management.model.dto;
+
+import java.util.List;
+
+public record SearchResults(
+        List<SearchHit> hits,
+        long total,
+        int page,
+        int size
+) {
+}
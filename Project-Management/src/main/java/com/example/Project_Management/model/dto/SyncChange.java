@@ -0,0 +1,14 @@
+package com.example.Project_Management.model.dto;
+
+import java.time.LocalDateTime;
+
+public record SyncChange(
+        long seq,
+        ChangeEvent.Type type,
+        ChangeEvent.Action action,
+        Long id,
+        Long projectId,
+        Long taskId,
+        LocalDateTime changedAt
+) {
+}
@@ -0,0 +1,17 @@
+package com.example.Project_Management.model.dto;
+
+import java.util.List;
+
+/**
+ * Changes after the client's position, at most one per entity. {@code next}
+ * is the position to ask from next time. {@code resync} means the position
+ * is older than the retained log, so the client has to reload everything and
+ * continue from {@code next}.
+ */
+public record SyncPage(
+        List<SyncChange> changes,
+        long next,
+        boolean hasMore,
+        boolean resync
+) {
+}
@@ -0,0 +1,15 @@
+package com.example.Project_Management.model.dto;
+
+import java.util.List;
+
+public record TaskBulkResult(
+        int updated,
+        List<TaskVersion> versions
+) {
+
+    public record TaskVersion(
+            Long id,
+            long version
+    ) {
+    }
+}
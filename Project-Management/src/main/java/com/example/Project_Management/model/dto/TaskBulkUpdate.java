@@ -0,0 +1,29 @@
+package com.example.Project_Management.model.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Selects tasks by {@code ids}, by {@code filter}, or by both (a task must
+ * match both), and applies every non-null field of {@code set} to them.
+ */
+public record TaskBulkUpdate(
+        List<Long> ids,
+        Filter filter,
+        Changes set
+) {
+
+    public record Filter(
+            Long projectId,
+            String status,
+            String priority
+    ) {
+    }
+
+    public record Changes(
+            String status,
+            String priority,
+            LocalDateTime dueDate
+    ) {
+    }
+}
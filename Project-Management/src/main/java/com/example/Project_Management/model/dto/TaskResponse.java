@@ -1,6 +1,7 @@
 package com.example.Project_Management.model.dto;
 
 import com.example.Project_Management.model.TaskComment;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.springframework.cglib.core.Local;
 
 import java.time.LocalDateTime;
@@ -14,9 +15,9 @@ public record TaskResponse(
         String status,
         LocalDateTime dueDate,
         String projectName,
-        List<String> assignedEmployeeNames,
+        @JsonInclude(JsonInclude.Include.NON_NULL) List<String> assignedEmployeeNames,
         String assignedByAdminName,
-        List<TaskCommentResponse> comments,
+        @JsonInclude(JsonInclude.Include.NON_NULL) List<TaskCommentResponse> comments,
         LocalDateTime createdAt
 ) {
 }
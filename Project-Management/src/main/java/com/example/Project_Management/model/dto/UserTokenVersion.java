@@ -0,0 +1,7 @@
+package com.example.Project_Management.model.dto;
+
+public record UserTokenVersion(
+        Long userId,
+        int tokenVersion
+) {
+}
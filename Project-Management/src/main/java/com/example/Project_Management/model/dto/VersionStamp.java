@@ -0,0 +1,17 @@
+package com.example.Project_Management.model.dto;
+
+/**
+ * Cheap fingerprint of a whole table, used to build ETags for collection
+ * endpoints. Any update raises versionSum, any insert or delete changes count,
+ * and a delete followed by an insert still raises maxId.
+ */
+public record VersionStamp(
+        Long count,
+        Long versionSum,
+        Long maxId
+) {
+
+    public String tag() {
+        return count + "." + versionSum + "." + maxId;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.Project_Management.repo;
+
+import com.example.Project_Management.model.ChangeLogEntry;
+import com.example.Project_Management.model.dto.ChangeEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ChangeLogRepo extends JpaRepository<ChangeLogEntry, Long> {
+
+    // everything but REMOVED, which only concerns its recipients
+    @Query("SELECT e FROM ChangeLogEntry e WHERE e.seq > :since AND e.seq <= :upTo " +
+            "AND e.action <> com.example.Project_Management.model.dto.ChangeEvent.Action.REMOVED ORDER BY e.seq")
+    List<ChangeLogEntry> findPage(@Param("since") long since, @Param("upTo") long upTo, Limit limit);
+
+    // entries of the user's projects, user changes, and the ones addressed to the user
+    @Query("SELECT e FROM ChangeLogEntry e WHERE e.seq > :since AND e.seq <= :upTo " +
+            "AND ((e.projectId IN :projectIds " +
+            "AND e.action <> com.example.Project_Management.model.dto.ChangeEvent.Action.REMOVED) " +
+            "OR e.type = com.example.Project_Management.model.dto.ChangeEvent.Type.USER " +
+            "OR :userId MEMBER OF e.recipients) ORDER BY e.seq")
+    List<ChangeLogEntry> findPageForMember(@Param("since") long since, @Param("upTo") long upTo,
+                                           @Param("projectIds") Collection<Long> projectIds,
+                                           @Param("userId") Long userId, Limit limit);
+
+    // for a user with no projects: user changes and the ones addressed to the user
+    @Query("SELECT e FROM ChangeLogEntry e WHERE e.seq > :since AND e.seq <= :upTo " +
+            "AND (e.type = com.example.Project_Management.model.dto.ChangeEvent.Type.USER " +
+            "OR :userId MEMBER OF e.recipients) ORDER BY e.seq")
+    List<ChangeLogEntry> findPageForRecipient(@Param("since") long since, @Param("upTo") long upTo,
+                                              @Param("userId") Long userId, Limit limit);
+
+    // one kind of entity under one project, for feeds polled on their own
+    @Query("SELECT e FROM ChangeLogEntry e WHERE e.projectId = :projectId AND e.type = :type " +
+            "AND e.seq > :since AND e.seq <= :upTo ORDER BY e.seq")
+    List<ChangeLogEntry> findPageForProject(@Param("since") long since, @Param("upTo") long upTo,
+                                            @Param("projectId") Long projectId,
+                                            @Param("type") ChangeEvent.Type type, Limit limit);
+
+    @Query("SELECT MAX(e.seq) FROM ChangeLogEntry e")
+    Long findMaxSeq();
+
+    @Query("SELECT MAX(e.seq) FROM ChangeLogEntry e WHERE e.changedAt < :cutoff")
+    Long findMaxSeqBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM ChangeLogEntry e WHERE e.seq <= :seq")
+    int bulkDeleteThrough(@Param("seq") long seq);
+}
@@ -1,13 +1,52 @@
 package com.example.Project_Management.repo;
 
 import com.example.Project_Management.model.ProjectComment;
+import com.example.Project_Management.model.dto.ProjectCommentResponse;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface ProjectCommentRepo extends JpaRepository<ProjectComment, Long> {
     List<ProjectComment> findByProjectId(Long projectId);
     List<ProjectComment> findByAuthorId(Long authorId);
+    long countByProjectId(Long projectId);
+
+    // Feed queries walk idx_project_comments_project_created and resolve the
+    // author name in the same statement.
+
+    String FEED_SELECT = "SELECT new com.example.Project_Management.model.dto.ProjectCommentResponse(" +
+            "c.id, c.content, a.name, c.createdAt, c.updatedAt) " +
+            "FROM ProjectComment c LEFT JOIN c.author a WHERE c.project.id = :projectId ";
+
+    String NEWEST_FIRST = "ORDER BY c.createdAt DESC, c.id DESC";
+
+    @Query(FEED_SELECT + NEWEST_FIRST)
+    List<ProjectCommentResponse> findFeed(@Param("projectId") Long projectId);
+
+    @Query(FEED_SELECT + NEWEST_FIRST)
+    List<ProjectCommentResponse> findFeed(@Param("projectId") Long projectId, Limit limit);
+
+    @Query(FEED_SELECT +
+            "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " + NEWEST_FIRST)
+    List<ProjectCommentResponse> findFeedBefore(@Param("projectId") Long projectId,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Limit limit);
+
+    @Query(FEED_SELECT + "AND c.id IN :ids")
+    List<ProjectCommentResponse> findFeedByIds(@Param("projectId") Long projectId, @Param("ids") List<Long> ids);
+
+    @Query("SELECT c.id FROM ProjectComment c WHERE c.project.id = :projectId ORDER BY c.id")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM ProjectComment c WHERE c.project.id = :projectId")
+    int bulkDeleteByProjectId(@Param("projectId") Long projectId);
 }
@@ -2,14 +2,98 @@ package com.example.Project_Management.repo;
 
 import com.example.Project_Management.model.Project;
 import com.example.Project_Management.model.User;
+import com.example.Project_Management.model.dto.ProjectSummary;
+import com.example.Project_Management.model.dto.VersionStamp;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProjectRepo extends JpaRepository<Project, Long> {
     @Query("SELECT p FROM Project p JOIN p.assignedEmployees u WHERE u = :user")
     List<Project> findByAssignedEmployee(User user);
+
+    @Query("SELECT p FROM Project p JOIN p.assignedEmployees u WHERE u.id = :userId")
+    List<Project> findByAssignedEmployeeId(Long userId);
+
+    @Query("SELECT p.id FROM Project p JOIN p.assignedEmployees u WHERE u.id = :userId")
+    List<Long> findIdsByAssignedEmployeeId(@Param("userId") Long userId);
+
+    @Query("SELECT u.id FROM Project p JOIN p.assignedEmployees u WHERE p.id = :projectId")
+    List<Long> findAssignedEmployeeIdsById(@Param("projectId") Long projectId);
+
+    String STREAM_FETCH_SIZE = "100";
+
+    // must be consumed inside a read-only transaction and closed
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = STREAM_FETCH_SIZE),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheMode", value = "IGNORE")
+    })
+    @Query("SELECT p FROM Project p")
+    Stream<Project> streamAll();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "project_users"))
+    @Query(value = "DELETE FROM project_users WHERE project_id = :projectId", nativeQuery = true)
+    int bulkDeleteMembersByProjectId(@Param("projectId") Long projectId);
+
+    @Query("SELECT p.version FROM Project p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT new com.example.Project_Management.model.dto.VersionStamp(" +
+            "COUNT(p), COALESCE(SUM(p.version), 0), COALESCE(MAX(p.id), 0)) FROM Project p")
+    VersionStamp findVersionStamp();
+
+    String SUMMARY_SELECT = "SELECT new com.example.Project_Management.model.dto.ProjectSummary(" +
+            "p.id, p.name, p.status, p.startDate, p.endDate, p.createdAt, " +
+            "(SELECT COUNT(t) FROM Task t WHERE t.project = p), " +
+            "(SELECT COUNT(c) FROM ProjectComment c WHERE c.project = p)) ";
+
+    String KEYSET_AFTER = "(p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) ";
+
+    String NEWEST_FIRST = "ORDER BY p.createdAt DESC, p.id DESC";
+
+    @Query(SUMMARY_SELECT + "FROM Project p " + NEWEST_FIRST)
+    List<ProjectSummary> findSummaries(Limit limit);
+
+    @Query(SUMMARY_SELECT + "FROM Project p WHERE " + KEYSET_AFTER + NEWEST_FIRST)
+    List<ProjectSummary> findSummariesAfter(@Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id,
+                                            Limit limit);
+
+    @Query(SUMMARY_SELECT + "FROM Project p JOIN p.assignedEmployees u WHERE u.id = :userId " + NEWEST_FIRST)
+    List<ProjectSummary> findSummariesByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Query(SUMMARY_SELECT + "FROM Project p JOIN p.assignedEmployees u WHERE u.id = :userId AND " +
+            KEYSET_AFTER + NEWEST_FIRST)
+    List<ProjectSummary> findSummariesByUserIdAfter(@Param("userId") Long userId,
+                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                    @Param("id") Long id,
+                                                    Limit limit);
+
+    // The fetch* queries below each initialize one association of projects that are
+    // already in the persistence context. They are issued separately so that no
+    // single query multiplies rows across two collections.
+
+    @Query("SELECT p FROM Project p LEFT JOIN FETCH p.createdByAdmin LEFT JOIN FETCH p.assignedEmployees " +
+            "WHERE p.id IN :projectIds")
+    List<Project> fetchMembers(@Param("projectIds") List<Long> projectIds);
+
+    @Query("SELECT p FROM Project p LEFT JOIN FETCH p.tasks WHERE p.id IN :projectIds")
+    List<Project> fetchTasks(@Param("projectIds") List<Long> projectIds);
+
+    @Query("SELECT p FROM Project p LEFT JOIN FETCH p.comments c LEFT JOIN FETCH c.author " +
+            "WHERE p.id IN :projectIds")
+    List<Project> fetchComments(@Param("projectIds") List<Long> projectIds);
 }
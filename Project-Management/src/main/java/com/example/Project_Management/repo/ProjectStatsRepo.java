@@ -0,0 +1,57 @@
+package com.example.Project_Management.repo;
+
+import com.example.Project_Management.model.ProjectStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ProjectStatsRepo extends JpaRepository<ProjectStats, Long> {
+
+    // serializes updates of the same project, so each one builds on the last commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ProjectStats s WHERE s.projectId IN :projectIds ORDER BY s.projectId")
+    List<ProjectStats> findAllForUpdate(@Param("projectIds") List<Long> projectIds);
+
+    @Query("SELECT s.projectId FROM ProjectStats s")
+    List<Long> findAllProjectIds();
+
+    @Query("SELECT p.id FROM Project p WHERE p.id IN :projectIds")
+    List<Long> findExistingProjectIds(@Param("projectIds") List<Long> projectIds);
+
+    // held while a missing stats row is created, so two transactions cannot both insert it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.id FROM Project p WHERE p.id IN :projectIds ORDER BY p.id")
+    List<Long> lockExistingProjects(@Param("projectIds") List<Long> projectIds);
+
+    @Query("SELECT p.id FROM Project p ORDER BY p.id")
+    List<Long> findAllExistingProjectIds();
+
+    // [projectId, status, priority, count]
+    @Query("SELECT t.project.id, t.status, t.priority, COUNT(t) FROM Task t WHERE t.project.id IN :projectIds " +
+            "GROUP BY t.project.id, t.status, t.priority")
+    List<Object[]> countTasks(@Param("projectIds") List<Long> projectIds);
+
+    // overdue depends on the clock, so it is counted at read time rather than stored; [projectId, count]
+    @Query("SELECT t.project.id, COUNT(t) FROM Task t WHERE t.dueDate < :now " +
+            "AND (t.status IS NULL OR t.status <> :completed) GROUP BY t.project.id")
+    List<Object[]> countOverdueTasks(@Param("now") LocalDateTime now, @Param("completed") String completed);
+
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.project.id = :projectId AND t.dueDate < :now " +
+            "AND (t.status IS NULL OR t.status <> :completed)")
+    long countOverdueTasksByProjectId(@Param("projectId") Long projectId, @Param("now") LocalDateTime now,
+                                      @Param("completed") String completed);
+
+    @Query("SELECT c.project.id, COUNT(c) FROM ProjectComment c WHERE c.project.id IN :projectIds GROUP BY c.project.id")
+    List<Object[]> countProjectComments(@Param("projectIds") List<Long> projectIds);
+
+    @Query("SELECT t.project.id, COUNT(c) FROM TaskComment c JOIN c.task t WHERE t.project.id IN :projectIds " +
+            "GROUP BY t.project.id")
+    List<Object[]> countTaskComments(@Param("projectIds") List<Long> projectIds);
+}
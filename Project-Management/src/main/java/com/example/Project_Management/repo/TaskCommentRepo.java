@@ -1,12 +1,48 @@
 package com.example.Project_Management.repo;
 
 import com.example.Project_Management.model.TaskComment;
+import com.example.Project_Management.model.dto.TaskCommentResponse;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface TaskCommentRepo extends JpaRepository<TaskComment, Long> {
     List<TaskComment> findByAuthorId(Long authorId);
+
+    // Timeline queries walk idx_task_comments_task_created newest-first and
+    // resolve the author name in the same statement.
+
+    String TIMELINE_SELECT = "SELECT new com.example.Project_Management.model.dto.TaskCommentResponse(" +
+            "c.id, c.content, a.name, c.createdAt, c.updatedAt) " +
+            "FROM TaskComment c LEFT JOIN c.author a WHERE c.task.id = :taskId ";
+
+    String NEWEST_FIRST = "ORDER BY c.createdAt DESC, c.id DESC";
+
+    @Query(TIMELINE_SELECT + NEWEST_FIRST)
+    List<TaskCommentResponse> findTimeline(@Param("taskId") Long taskId);
+
+    @Query(TIMELINE_SELECT + NEWEST_FIRST)
+    List<TaskCommentResponse> findTimeline(@Param("taskId") Long taskId, Limit limit);
+
+    @Query(TIMELINE_SELECT +
+            "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " + NEWEST_FIRST)
+    List<TaskCommentResponse> findTimelineAfter(@Param("taskId") Long taskId,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM TaskComment c WHERE c.task.id IN (SELECT t.id FROM Task t WHERE t.project.id = :projectId)")
+    int bulkDeleteByProjectId(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query("DELETE FROM TaskComment c WHERE c.task.id IN :taskIds")
+    int bulkDeleteByTaskIds(@Param("taskIds") List<Long> taskIds);
 }
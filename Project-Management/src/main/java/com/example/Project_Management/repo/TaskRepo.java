@@ -1,15 +1,78 @@
 package com.example.Project_Management.repo;
 
 import com.example.Project_Management.model.Task;
+import com.example.Project_Management.model.dto.VersionStamp;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface TaskRepo extends JpaRepository<Task, Long> {
 
     List<Task> findByProjectId(Long projectId);
+    long countByProjectId(Long projectId);
 
-    @Query("SELECT t FROM Task t JOIN t.assignedEmployees u WHERE u.id = :employeeId")
+    @Query("SELECT new com.example.Project_Management.model.dto.VersionStamp(" +
+            "COUNT(t), COALESCE(SUM(t.version), 0), COALESCE(MAX(t.id), 0)) FROM Task t")
+    VersionStamp findVersionStamp();
+
+    @Query("SELECT t FROM Task t JOIN FETCH t.project")
+    List<Task> findAllWithProject();
+
+    String STREAM_FETCH_SIZE = "500";
+
+    // must be consumed inside a read-only transaction and closed
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = STREAM_FETCH_SIZE),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheMode", value = "IGNORE")
+    })
+    @Query("SELECT t FROM Task t JOIN FETCH t.project")
+    Stream<Task> streamAll();
+
+    @Query("SELECT t FROM Task t JOIN FETCH t.project JOIN t.assignedEmployees u WHERE u.id = :employeeId")
     List<Task> findByAssignedEmployeeId(Long employeeId);
+
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.assignedByAdmin LEFT JOIN FETCH t.assignedEmployees " +
+            "WHERE t.id IN :taskIds")
+    List<Task> fetchAssignees(@Param("taskIds") List<Long> taskIds);
+
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.comments c LEFT JOIN FETCH c.author " +
+            "WHERE t.id IN :taskIds")
+    List<Task> fetchComments(@Param("taskIds") List<Long> taskIds);
+
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.assignedByAdmin LEFT JOIN FETCH t.assignedEmployees " +
+            "WHERE t.project.id IN :projectIds")
+    List<Task> fetchAssigneesByProjectIds(@Param("projectIds") List<Long> projectIds);
+
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.comments c LEFT JOIN FETCH c.author " +
+            "WHERE t.project.id IN :projectIds")
+    List<Task> fetchCommentsByProjectIds(@Param("projectIds") List<Long> projectIds);
+
+    @Query("SELECT t.id FROM Task t WHERE t.project.id = :projectId ORDER BY t.id")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, Limit limit);
+
+    // Set-based deletes. The join table has no entity, so those are native;
+    // the query space limits second-level cache eviction to that table.
+
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "task_users"))
+    @Query(value = "DELETE FROM task_users WHERE task_id IN (SELECT id FROM tasks WHERE project_id = :projectId)",
+            nativeQuery = true)
+    int bulkDeleteAssignmentsByProjectId(@Param("projectId") Long projectId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "task_users"))
+    @Query(value = "DELETE FROM task_users WHERE task_id IN :taskIds", nativeQuery = true)
+    int bulkDeleteAssignmentsByTaskIds(@Param("taskIds") List<Long> taskIds);
+
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.project.id = :projectId")
+    int bulkDeleteByProjectId(@Param("projectId") Long projectId);
 }
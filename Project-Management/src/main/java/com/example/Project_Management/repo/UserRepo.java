@@ -1,24 +1,51 @@
 package com.example.Project_Management.repo;
 
 import com.example.Project_Management.model.User;
+import com.example.Project_Management.model.dto.UserTokenVersion;
+import com.example.Project_Management.model.dto.VersionStamp;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepo extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "users.byRole")
+    })
     List<User> findByRole(String role);
 
     boolean existsByEmail(String email);
 
+    @Query("SELECT new com.example.Project_Management.model.dto.VersionStamp(" +
+            "COUNT(u), COALESCE(SUM(u.version), 0), COALESCE(MAX(u.id), 0)) FROM User u")
+    VersionStamp findVersionStamp();
+
     Optional<User> findByUsername(String username);
 
+    String STREAM_FETCH_SIZE = "500";
+
+    // must be consumed inside a read-only transaction and closed
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = STREAM_FETCH_SIZE),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheMode", value = "IGNORE")
+    })
+    @Query("SELECT u FROM User u")
+    Stream<User> streamAll();
+
+    @Query("SELECT new com.example.Project_Management.model.dto.UserTokenVersion(u.id, u.tokenVersion) FROM User u")
+    List<UserTokenVersion> findAllTokenVersions();
+
     @Query("SELECT DISTINCT u FROM User u " +
             "JOIN u.assignedProjects p " +
             "WHERE p.id = :projectId " +
@@ -26,4 +53,15 @@ public interface UserRepo extends JpaRepository<User, Long> {
     List<User> findColleaguesByProjectId(
             @Param("projectId") Long projectId,
             @Param("username") String username);
+
+    @Query("SELECT DISTINCT u FROM User u " +
+            "JOIN u.assignedProjects p " +
+            "WHERE p.id = :projectId " +
+            "AND u.id != :userId")
+    List<User> findColleaguesByProjectIdExcludingUser(
+            @Param("projectId") Long projectId,
+            @Param("userId") Long userId);
+
+    @Query("SELECT u.id FROM Project p JOIN p.assignedEmployees u WHERE p.id = :projectId")
+    List<Long> findMemberIdsByProjectId(@Param("projectId") Long projectId);
 }
\ No newline at end of file
@@ -0,0 +1,266 @@
+package com.example.Project_Management.service;
+
+import com.example.Project_Management.model.ChangeLogEntry;
+import com.example.Project_Management.model.ChangeLogHead;
+import com.example.Project_Management.model.UserPrincipal;
+import com.example.Project_Management.model.dto.ChangeEvent;
+import com.example.Project_Management.model.dto.SyncChange;
+import com.example.Project_Management.model.dto.SyncPage;
+import com.example.Project_Management.repo.ChangeLogRepo;
+import com.example.Project_Management.repo.ProjectRepo;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only log of every ChangeEvent, written in the transaction that made
+ * the change, and the delta sync reads over it.
+ *
+ * Sequence numbers come from the change_log_head row, which each writing
+ * transaction locks as the very last thing before it commits (after flushing
+ * its other writes). Commits that log changes are therefore serialized for
+ * that short moment, and a number is never visible before every lower one is,
+ * so a client that has seen N can safely ask for everything after N.
+ *
+ * Sync pages are compacted: one change per entity, nothing for entities
+ * created and deleted within the page, and nothing under a project the page
+ * deletes or removes the user from, up to that point. Deleting a project
+ * means deleting everything under it, which is not logged entry by entry.
+ *
+ * Non-admins see the entries of the projects they are members of now, every
+ * user change (users belong to no project, and every client shows them), plus
+ * the ones addressed to them: the deletion of a project they were a member
+ * of, and REMOVED when they were taken off a project. User writes are not
+ * transactional, so they are logged in a transaction of their own.
+ *
+ * Properties:
+ *   app.sync.retention-days  — how long entries are kept, defaults to 30
+ *   app.sync.prune-ms        — delay between retention runs, defaults to an hour
+ */
+@Service
+public class ChangeLogService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLogService.class);
+
+    private static final int MAX_SYNC_LIMIT = 1000;
+
+    @Autowired
+    private ChangeLogRepo changeLogRepo;
+
+    @Autowired
+    private ProjectRepo projectRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.sync.retention-days:30}")
+    private int retentionDays;
+
+    @PostConstruct
+    void init() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            if (entityManager.find(ChangeLogHead.class, ChangeLogHead.ID) == null) {
+                Long maxSeq = changeLogRepo.findMaxSeq();
+                entityManager.persist(new ChangeLogHead(ChangeLogHead.ID, maxSeq != null ? maxSeq : 0, 0));
+            }
+        });
+    }
+
+    // after ProjectStatsService's recount, so the head row stays the last lock taken
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void record(ChangeEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> append(event));
+            return;
+        }
+        append(event);
+    }
+
+    private void append(ChangeEvent event) {
+        ChangeLogHead head = (ChangeLogHead) TransactionSynchronizationManager.getResource(this);
+        if (head == null) {
+            // nothing this transaction writes later may wait on a lock while the head is held
+            entityManager.flush();
+            head = entityManager.find(ChangeLogHead.class, ChangeLogHead.ID, LockModeType.PESSIMISTIC_WRITE);
+            TransactionSynchronizationManager.bindResource(this, head);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ChangeLogService.this);
+                }
+            });
+        }
+        head.setSeq(head.getSeq() + 1);
+        entityManager.persist(new ChangeLogEntry(head.getSeq(), event.type(), event.action(), event.id(),
+                event.projectId(), event.taskId(), event.at(), new HashSet<>(event.recipients())));
+    }
+
+    /**
+     * Changes after {@code since} that the user may see, compacted. Positions
+     * run over the whole log, so {@code next} also moves past entries of
+     * other users' projects.
+     */
+    public SyncPage sync(UserPrincipal user, long since, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_SYNC_LIMIT));
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            // everything up to the committed head is committed, so reading no further than it skips nothing
+            ChangeLogHead head = entityManager.find(ChangeLogHead.class, ChangeLogHead.ID);
+            if (since < head.getPrunedThrough()) {
+                return new SyncPage(List.of(), head.getSeq(), false, true);
+            }
+
+            List<ChangeLogEntry> entries;
+            if ("ADMIN".equals(user.getUser().getRole())) {
+                entries = changeLogRepo.findPage(since, head.getSeq(), Limit.of(pageSize + 1));
+            } else {
+                // former members still get a project's deletion, and removed users a REMOVED change
+                List<Long> projectIds = projectRepo.findIdsByAssignedEmployeeId(user.getId());
+                entries = projectIds.isEmpty()
+                        ? changeLogRepo.findPageForRecipient(since, head.getSeq(), user.getId(), Limit.of(pageSize + 1))
+                        : changeLogRepo.findPageForMember(since, head.getSeq(), projectIds, user.getId(),
+                                Limit.of(pageSize + 1));
+            }
+
+            boolean hasMore = entries.size() > pageSize;
+            if (hasMore) {
+                entries = entries.subList(0, pageSize);
+            }
+            long next = hasMore ? entries.get(entries.size() - 1).getSeq() : head.getSeq();
+            return new SyncPage(compact(entries), next, hasMore, false);
+        });
+    }
+
+    /** The newest committed position, for a listing that is polled for changes afterwards. */
+    public long position() {
+        return new TransactionTemplate(transactionManager).execute(status ->
+                entityManager.find(ChangeLogHead.class, ChangeLogHead.ID).getSeq());
+    }
+
+    /**
+     * Changes to one kind of entity under one project after {@code since},
+     * compacted like a sync page. For feeds that poll a single listing, which
+     * check access to the project themselves.
+     */
+    public SyncPage changesUnder(Long projectId, ChangeEvent.Type type, long since, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_SYNC_LIMIT));
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            ChangeLogHead head = entityManager.find(ChangeLogHead.class, ChangeLogHead.ID);
+            if (since < head.getPrunedThrough()) {
+                return new SyncPage(List.of(), head.getSeq(), false, true);
+            }
+            List<ChangeLogEntry> entries =
+                    changeLogRepo.findPageForProject(since, head.getSeq(), projectId, type, Limit.of(pageSize + 1));
+            boolean hasMore = entries.size() > pageSize;
+            if (hasMore) {
+                entries = entries.subList(0, pageSize);
+            }
+            long next = hasMore ? entries.get(entries.size() - 1).getSeq() : head.getSeq();
+            return new SyncPage(compact(entries), next, hasMore, false);
+        });
+    }
+
+    /**
+     * Makes every client reload from scratch, for changes that bypassed the
+     * services (an import writes straight through JDBC).
+     */
+    public void requireResync() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            ChangeLogHead head = entityManager.find(ChangeLogHead.class, ChangeLogHead.ID, LockModeType.PESSIMISTIC_WRITE);
+            // past every position a client can hold, including the current head
+            head.setSeq(head.getSeq() + 1);
+            head.setPrunedThrough(head.getSeq());
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.sync.prune-ms:3600000}", initialDelayString = "${app.sync.prune-ms:3600000}")
+    public void prune() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofDays(retentionDays));
+        int deleted = new TransactionTemplate(transactionManager).execute(status -> {
+            Long through = changeLogRepo.findMaxSeqBefore(cutoff);
+            if (through == null) {
+                return 0;
+            }
+            // raised first, so no reader can take the gap for "no changes"
+            ChangeLogHead head = entityManager.find(ChangeLogHead.class, ChangeLogHead.ID, LockModeType.PESSIMISTIC_WRITE);
+            head.setPrunedThrough(Math.max(head.getPrunedThrough(), through));
+            entityManager.flush();
+            return changeLogRepo.bulkDeleteThrough(through);
+        });
+        if (deleted > 0) {
+            log.info("Pruned {} change log entries older than {}", deleted, cutoff);
+        }
+    }
+
+    private static SyncChange toChange(ChangeLogEntry entry, ChangeEvent.Action action) {
+        return new SyncChange(entry.getSeq(), entry.getType(), action, entry.getEntityId(), entry.getProjectId(),
+                entry.getTaskId(), entry.getChangedAt());
+    }
+
+    private record EntityKey(ChangeEvent.Type type, Long id) {
+    }
+
+    private static List<SyncChange> compact(List<ChangeLogEntry> entries) {
+        Map<EntityKey, SyncChange> latest = new LinkedHashMap<>();
+        // project -> position of its last deletion or removal
+        Map<Long, Long> droppedProjects = new HashMap<>();
+        for (ChangeLogEntry entry : entries) {
+            EntityKey key = new EntityKey(entry.getType(), entry.getEntityId());
+            SyncChange previous = latest.get(key);
+            if (entry.getType() == ChangeEvent.Type.PROJECT && (entry.getAction() == ChangeEvent.Action.DELETED
+                    || entry.getAction() == ChangeEvent.Action.REMOVED)) {
+                droppedProjects.put(entry.getEntityId(), entry.getSeq());
+            }
+
+            if (previous == null || previous.action() != ChangeEvent.Action.CREATED) {
+                latest.put(key, toChange(entry, entry.getAction()));
+            } else if (entry.getAction() == ChangeEvent.Action.DELETED
+                    || entry.getAction() == ChangeEvent.Action.REMOVED) {
+                // the client never saw it
+                latest.remove(key);
+            } else {
+                latest.put(key, toChange(entry, ChangeEvent.Action.CREATED));
+            }
+        }
+
+        List<SyncChange> changes = new ArrayList<>(latest.size());
+        for (SyncChange change : latest.values()) {
+            // the project's deletion or removal takes everything under it along
+            Long dropped = droppedProjects.get(change.projectId());
+            if (change.type() != ChangeEvent.Type.PROJECT && dropped != null && change.seq() < dropped) {
+                continue;
+            }
+            changes.add(change);
+        }
+        changes.sort(Comparator.comparingLong(SyncChange::seq));
+        return changes;
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.Project_Management.service;
+
+import com.example.Project_Management.model.UserPrincipal;
+import com.example.Project_Management.model.dto.ChangeEvent;
+import com.example.Project_Management.repo.ProjectRepo;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes committed changes to clients over Server-Sent Events.
+ *
+ * Each subscriber sees only the projects it is a member of (admins see all),
+ * optionally narrowed to the ones it asked for. Membership is taken when the
+ * stream opens; a client reconnects to pick up projects it joined later.
+ * REMOVED changes go only to the users they name, and drop the project from
+ * those users' open streams, as does the deletion of the project. User
+ * changes belong to no project and reach every stream.
+ *
+ * Committing threads never write to a socket. They only offer the event to
+ * each matching subscriber's bounded queue, and a virtual thread per
+ * subscriber drains it. A subscriber whose queue overflows loses the queued
+ * events and gets a single "resync" event instead, telling it to refetch.
+ * Idle streams get a comment line every heartbeat so proxies keep them open.
+ *
+ * Properties:
+ *   app.events.buffer-size   — events queued per subscriber, defaults to 256
+ *   app.events.heartbeat-ms  — defaults to 15000
+ *   app.events.timeout-ms    — stream lifetime before the client reconnects, defaults to 30 minutes
+ */
+@Service
+public class ChangeStreamService {
+
+    private static final Object HEARTBEAT = new Object();
+    private static final Object RESYNC = new Object();
+
+    @Autowired
+    private ProjectRepo projectRepo;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.events.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${app.events.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void registerMetrics() {
+        meterRegistry.gauge("events.subscribers", subscribers, Set::size);
+    }
+
+    /**
+     * Opens a stream for the user. {@code projectIds} narrows it to those
+     * projects; null or empty means all of the user's projects.
+     */
+    public SseEmitter subscribe(UserPrincipal user, Set<Long> projectIds) {
+        Set<Long> visible = null;
+        if (!"ADMIN".equals(user.getUser().getRole())) {
+            visible = new HashSet<>(projectRepo.findIdsByAssignedEmployeeId(user.getId()));
+        }
+        if (projectIds != null && !projectIds.isEmpty()) {
+            if (visible == null) {
+                visible = new HashSet<>(projectIds);
+            } else {
+                visible.retainAll(projectIds);
+            }
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Set<Long> filter = null;
+        if (visible != null) {
+            // shrinks while the stream is open, as the user loses access
+            filter = ConcurrentHashMap.newKeySet();
+            filter.addAll(visible);
+        }
+        Subscriber subscriber = new Subscriber(emitter, user.getId(), filter, new ArrayBlockingQueue<>(bufferSize));
+        // commits the response headers right away, so the client sees the stream open
+        subscriber.queue.offer(HEARTBEAT);
+        subscribers.add(subscriber);
+        subscriber.sender = Thread.ofVirtual().name("sse-" + user.getId()).start(subscriber::drain);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ChangeEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            if (event.action() == ChangeEvent.Action.REMOVED) {
+                if (event.recipients().contains(subscriber.userId)) {
+                    subscriber.leave(event.projectId());
+                    subscriber.offer(event);
+                }
+            } else if (subscriber.projectIds == null || event.projectId() == null
+                    || subscriber.projectIds.contains(event.projectId())) {
+                subscriber.offer(event);
+                if (event.type() == ChangeEvent.Type.PROJECT && event.action() == ChangeEvent.Action.DELETED) {
+                    subscriber.leave(event.projectId());
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        // a full queue already has something to send
+        subscribers.forEach(subscriber -> subscriber.queue.offer(HEARTBEAT));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private class Subscriber {
+
+        final SseEmitter emitter;
+        final Long userId;
+        final Set<Long> projectIds;
+        final BlockingQueue<Object> queue;
+        volatile Thread sender;
+
+        Subscriber(SseEmitter emitter, Long userId, Set<Long> projectIds, BlockingQueue<Object> queue) {
+            this.emitter = emitter;
+            this.userId = userId;
+            this.projectIds = projectIds;
+            this.queue = queue;
+        }
+
+        synchronized void offer(ChangeEvent event) {
+            if (!queue.offer(event)) {
+                // whatever is queued is stale once the client refetches anyway
+                queue.clear();
+                queue.offer(RESYNC);
+                meterRegistry.counter("events.resyncs").increment();
+            }
+        }
+
+        void leave(Long projectId) {
+            // admins see every project, so there is nothing to drop
+            if (projectIds != null) {
+                projectIds.remove(projectId);
+            }
+        }
+
+        void drain() {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    Object next = queue.take();
+                    if (next == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else if (next == RESYNC) {
+                        emitter.send(SseEmitter.event().name("resync").data(""));
+                    } else {
+                        emitter.send(SseEmitter.event().name("change").data(next, MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException e) {
+                // the client went away or the stream already completed
+                emitter.completeWithError(e);
+            } finally {
+                subscribers.remove(this);
+            }
+        }
+
+        void close() {
+            subscribers.remove(this);
+            sender.interrupt();
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package com.example.Project_Management.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwt;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import com.example.Project_Management.model.User;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,8 +21,11 @@ import org.springframework.validation.ObjectError;
 
 import javax.crypto.KeyGenerator;
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
@@ -30,6 +40,55 @@ public class JwtService {
     @Value("${jwt.secret}")
     private String SECRET;
 
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
+
+    @Value("${jwt.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${jwt.cache.ttl-seconds:300}")
+    private long cacheTtlSeconds;
+
+    private Key signingKey;
+    private JwtParser parser;
+
+    /**
+     * Verified tokens keyed by a SHA-256 digest of the compact token, so the
+     * filter pays for one signature check per token per TTL window instead of
+     * re-parsing on every call. Entries never outlive the token's own expiry.
+     */
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    public record VerifiedToken(String username, Date expiration, Long userId, String role, Integer tokenVersion) {
+    }
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        long untilExpiry = value.expiration().getTime() - System.currentTimeMillis();
+                        long ttl = Math.min(Math.max(untilExpiry, 0), Duration.ofSeconds(cacheTtlSeconds).toMillis());
+                        return Duration.ofMillis(ttl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
 
 
 //    public JwtService(){
@@ -49,10 +108,23 @@ public class JwtService {
 //        }
 //    }
 
-    public String generateToken(String username) {
-
+    /**
+     * Issues a token carrying the user's id, role and token version so that
+     * stateless mode can authorize requests from the claims alone.
+     */
+    public String generateToken(User user) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put("uid", user.getId());
+        claims.put("role", user.getRole());
+        claims.put("ver", user.getTokenVersion());
+        return buildToken(claims, user.getUsername());
+    }
+
+    public boolean isStateless() {
+        return stateless;
+    }
 
+    private String buildToken(Map<String, Object> claims, String username) {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(username)
@@ -62,13 +134,51 @@ public class JwtService {
     }
 
     private Key getKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET);
-        //byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
+    }
+
+    /**
+     * Verifies the token signature once and returns the subject and expiry.
+     * Repeated calls with the same token are served from the cache until the
+     * entry expires; invalid tokens throw and are never cached.
+     */
+    public VerifiedToken verify(String token) {
+        return verifiedTokens.get(digest(token), key -> {
+            Claims claims = extractAllClaims(token);
+            // jjwt accepts tokens without exp, but every token issued here has one
+            if (claims.getExpiration() == null) {
+                throw new JwtException("Token has no expiration");
+            }
+            Number userId = claims.get("uid", Number.class);
+            return new VerifiedToken(
+                    claims.getSubject(),
+                    claims.getExpiration(),
+                    userId != null ? userId.longValue() : null,
+                    claims.get("role", String.class),
+                    claims.get("ver", Integer.class)
+            );
+        });
+    }
+
+    public long getCacheHits() {
+        return verifiedTokens.stats().hitCount();
+    }
+
+    public long getCacheMisses() {
+        return verifiedTokens.stats().missCount();
+    }
+
+    private String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).username();
     }
 
     private<T> T extractClaim(String token, Function<Claims, T> claimResolver) {
@@ -77,21 +187,15 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getKey())
-                .build().parseClaimsJws(token).getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public boolean validateToken(String token, UserDetails userDetails) {
-        final String userName = extractUsername(token);
-        return (userName.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
-
-    private boolean isTokenExpired(String token){
-        return extractExpiration(token).before(new Date());
+        VerifiedToken verified = verify(token);
+        return verified.username().equals(userDetails.getUsername()) && !isTokenExpired(verified);
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private boolean isTokenExpired(VerifiedToken verified){
+        return verified.expiration().before(new Date());
     }
 }
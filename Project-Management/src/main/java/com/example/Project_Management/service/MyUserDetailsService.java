@@ -3,20 +3,65 @@ package com.example.Project_Management.service;
 import com.example.Project_Management.model.User;
 import com.example.Project_Management.model.UserPrincipal;
 import com.example.Project_Management.repo.UserRepo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+
 @Service
 public class MyUserDetailsService implements UserDetailsService {
 
     @Autowired
     private UserRepo userRepo;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${security.principal-cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${security.principal-cache.ttl-seconds:60}")
+    private long cacheTtlSeconds;
+
+    /**
+     * Principals keyed by username so JwtFilter does not query the users table
+     * on every request. UserService evicts entries whenever a user's
+     * credentials, role or existence change; the TTL only bounds how long a
+     * change made outside this instance can go unnoticed.
+     */
+    private Cache<String, UserPrincipal> principals;
+
+    @PostConstruct
+    void init() {
+        principals = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "userPrincipals");
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return principals.get(username, this::loadPrincipal);
+    }
+
+    public void evict(String username) {
+        if (username != null) {
+            principals.invalidate(username);
+        }
+    }
+
+    private UserPrincipal loadPrincipal(String username) {
         User user = userRepo.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
@@ -0,0 +1,143 @@
+package com.example.Project_Management.service;
+
+import com.example.Project_Management.model.dto.Include;
+import com.example.Project_Management.model.dto.MyWorkspaceResponse;
+import com.example.Project_Management.model.dto.ProjectCommentResponse;
+import com.example.Project_Management.model.dto.ProjectResponse;
+import com.example.Project_Management.model.dto.TaskCommentResponse;
+import com.example.Project_Management.model.dto.TaskResponse;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Everything the employee dashboard shows, loaded with the four queries
+ * running side by side on virtual threads, so the response takes as long as
+ * the slowest of them rather than their sum.
+ *
+ * The queries are scoped to the call: the first failure, or the deadline
+ * passing, cancels the ones still running and fails the whole request.
+ *
+ * Each query holds a connection, so one dashboard takes up to four at once.
+ * A permit shared by all requests caps how many of these queries run at a
+ * time, leaving the rest of the pool to everything else; a query waits for a
+ * permit within the same deadline.
+ *
+ * Properties:
+ *   app.workspace.deadline-ms              — defaults to 5000
+ *   app.workspace.max-concurrent-queries   — defaults to half the connection pool
+ */
+@Service
+public class MyWorkspaceService {
+
+    @Autowired private ProjectService projectService;
+    @Autowired private TaskService taskService;
+    @Autowired private ProjectCommentService projectCommentService;
+    @Autowired private TaskCommentService taskCommentService;
+
+    @Value("${app.workspace.deadline-ms:5000}")
+    private long deadlineMs;
+
+    @Value("${app.workspace.max-concurrent-queries:#{${spring.datasource.hikari.maximum-pool-size:10} / 2}}")
+    private int maxConcurrentQueries;
+
+    private Semaphore queryPermits;
+
+    @PostConstruct
+    void init() {
+        queryPermits = new Semaphore(Math.max(1, maxConcurrentQueries), true);
+    }
+
+    public MyWorkspaceResponse getWorkspace(Long userId, Set<Include> includes) {
+        try (Scope scope = new Scope(deadlineMs, queryPermits)) {
+            Future<List<ProjectResponse>> projects = scope.fork(() -> projectService.getProjectsByUserId(userId, includes));
+            Future<List<TaskResponse>> tasks = scope.fork(() -> taskService.getTasksByEmployeeId(userId, includes));
+            Future<List<ProjectCommentResponse>> projectComments =
+                    scope.fork(() -> projectCommentService.getCommentsByAuthorId(userId));
+            Future<List<TaskCommentResponse>> taskComments =
+                    scope.fork(() -> taskCommentService.getCommentsByAuthorId(userId));
+
+            return new MyWorkspaceResponse(scope.join(projects), scope.join(tasks),
+                    scope.join(projectComments), scope.join(taskComments));
+        }
+    }
+
+    /**
+     * The subset of StructuredTaskScope.ShutdownOnFailure needed here (that
+     * API is still a preview in Java 21): one virtual thread per subtask, the
+     * first failure wins and stops the rest. Unlike the real thing, close()
+     * interrupts stragglers without waiting for them, so the deadline holds
+     * even for a query that ignores the interrupt.
+     */
+    private static final class Scope implements AutoCloseable {
+
+        private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final Semaphore permits;
+        private final long deadlineMs;
+        private final long deadline;
+
+        Scope(long deadlineMs, Semaphore permits) {
+            this.permits = permits;
+            this.deadlineMs = deadlineMs;
+            this.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+        }
+
+        // a subtask waiting for its permit is interrupted by close() like a running one
+        <T> Future<T> fork(Callable<T> subtask) {
+            return executor.submit(() -> {
+                try {
+                    permits.acquire();
+                    try {
+                        return subtask.call();
+                    } finally {
+                        permits.release();
+                    }
+                } catch (Throwable e) {
+                    if (failure.compareAndSet(null, e)) {
+                        executor.shutdownNow();
+                    }
+                    throw e;
+                }
+            });
+        }
+
+        <T> T join(Future<T> future) {
+            try {
+                return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                throw new RuntimeException("Workspace not loaded within " + deadlineMs + " ms");
+            } catch (ExecutionException | CancellationException e) {
+                // a subtask interrupted by the shutdown reports the failure that caused it
+                Throwable cause = failure.get() != null ? failure.get() : e.getCause();
+                if (cause instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                throw new RuntimeException(cause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Workspace loading interrupted");
+            }
+        }
+
+        // interrupts whatever is still running once the result is in or the deadline has passed
+        @Override
+        public void close() {
+            executor.shutdownNow();
+        }
+    }
+}
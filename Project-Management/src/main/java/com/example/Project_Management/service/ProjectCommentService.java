@@ -4,36 +4,117 @@ package com.example.Project_Management.service;
 import com.example.Project_Management.model.Project;
 import com.example.Project_Management.model.ProjectComment;
 import com.example.Project_Management.model.User;
+import com.example.Project_Management.model.dto.ChangeEvent;
+import com.example.Project_Management.model.dto.CursorPage;
+import com.example.Project_Management.model.dto.FeedChanges;
+import com.example.Project_Management.model.dto.KeysetCursor;
 import com.example.Project_Management.model.dto.ProjectCommentCreate;
 import com.example.Project_Management.model.dto.ProjectCommentResponse;
 import com.example.Project_Management.model.dto.ProjectCommentUpdate;
 import com.example.Project_Management.model.dto.ProjectResponse;
+import com.example.Project_Management.model.dto.SyncChange;
+import com.example.Project_Management.model.dto.SyncPage;
 import com.example.Project_Management.repo.ProjectCommentRepo;
-import com.example.Project_Management.repo.ProjectRepo;
 import com.example.Project_Management.repo.UserRepo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
 public class ProjectCommentService {
 
+    // before any comment, for polling a project that has none yet
+
     @Autowired
     private ProjectCommentRepo projectCommentRepo;
 
     @Autowired
-    private ProjectRepo projectRepo;
+    private UserRepo userRepo;
 
     @Autowired
-    private UserRepo userRepo;
+    private EntityManager entityManager;
 
-    public List<ProjectCommentResponse> getAllProjectComments(Long authorId) {
-        return projectCommentRepo.findByAuthorId(authorId).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private ProjectStatsService projectStatsService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    public List<ProjectCommentResponse> getAllProjectComments(Long projectId) {
+        return projectCommentRepo.findFeed(projectId);
+    }
+
+    /**
+     * Pages backwards through a project's comments, newest first. The first
+     * page also carries {@code since}, a change-log position taken just before
+     * the page was read, to poll {@link #getCommentFeedChanges} with.
+     */
+    public CursorPage<ProjectCommentResponse> getCommentFeed(Long projectId, String cursor, int size) {
+        int limit = CursorPage.pageSize(size);
+
+        if (cursor == null || cursor.isBlank()) {
+            // taken first, so a comment committed meanwhile is at worst seen again by the next poll
+            long position = changeLogService.position();
+            List<ProjectCommentResponse> rows = projectCommentRepo.findFeed(projectId, Limit.of(limit + 1));
+            CursorPage<ProjectCommentResponse> page =
+                    CursorPage.fromRows(rows, limit, c -> new KeysetCursor(c.createdAt(), c.id()));
+            return new CursorPage<>(page.items(), page.nextCursor(), Long.toString(position));
+        }
+
+        KeysetCursor before = KeysetCursor.decode(cursor);
+        List<ProjectCommentResponse> rows =
+                projectCommentRepo.findFeedBefore(projectId, before.createdAt(), before.id(), Limit.of(limit + 1));
+        return CursorPage.fromRows(rows, limit, c -> new KeysetCursor(c.createdAt(), c.id()));
+    }
+
+    /**
+     * Comments created, edited or deleted since the position, in the order
+     * those changes committed. Timestamps and ids are assigned before commit
+     * and can land out of order, so polling by them would miss a slow commit;
+     * change-log positions cannot.
+     */
+    public FeedChanges<ProjectCommentResponse> getCommentFeedChanges(Long projectId, String since, int size) {
+        long position;
+        try {
+            position = Long.parseLong(since);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid since: " + since);
+        }
+
+        SyncPage page = changeLogService.changesUnder(projectId, ChangeEvent.Type.PROJECT_COMMENT, position,
+                CursorPage.pageSize(size));
+        List<Long> changedIds = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        for (SyncChange change : page.changes()) {
+            (change.action() == ChangeEvent.Action.DELETED ? deletedIds : changedIds).add(change.id());
+        }
+
+        Map<Long, ProjectCommentResponse> rows = changedIds.isEmpty() ? Map.of()
+                : projectCommentRepo.findFeedByIds(projectId, changedIds).stream()
+                        .collect(Collectors.toMap(ProjectCommentResponse::id, comment -> comment));
+        // one deleted since the change was read shows up as deleted on the next poll
+        List<ProjectCommentResponse> items = changedIds.stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new FeedChanges<>(items, deletedIds, Long.toString(page.next()), page.hasMore(), page.resync());
     }
 
     //Get single comment by id
@@ -43,9 +124,9 @@ public class ProjectCommentService {
         return convertToResponse(projectComment);
     }
 
+    @Transactional
     public ProjectCommentResponse createComment(ProjectCommentCreate projectCommentCreate) {
-        Project project = projectRepo.findById(projectCommentCreate.projectId())
-                .orElseThrow(() -> new RuntimeException("Project not found by id: " + projectCommentCreate.projectId()));
+        Project project = touchProject(projectCommentCreate.projectId());
 
         User author = userRepo.findById(projectCommentCreate.authorId())
                 .orElseThrow(() -> new RuntimeException("Author not found by id: " + projectCommentCreate.authorId()));
@@ -57,32 +138,61 @@ public class ProjectCommentService {
         comment.setCreatedAt(LocalDateTime.now());
 
         ProjectComment savedComment = projectCommentRepo.save(comment);
+        searchIndex.indexProjectComment(savedComment);
+        projectStatsService.projectCommentsAdded(project.getId(), 1);
+        eventPublisher.publishEvent(ChangeEvent.projectComment(ChangeEvent.Action.CREATED, savedComment.getId(), project.getId()));
 
         return convertToResponse(savedComment);
     }
 
     //Update comment
+    @Transactional
     public ProjectCommentResponse updateComment(Long id, ProjectCommentUpdate projectCommentUpdate){
         ProjectComment projectComment = projectCommentRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Comment not found with id: " + id));
+        touchProject(projectComment.getProject().getId());
         projectComment.setContent(projectCommentUpdate.content());
         projectComment.setUpdatedAt(LocalDateTime.now());
 
         ProjectComment updatedComment = projectCommentRepo.save(projectComment);
+        searchIndex.indexProjectComment(updatedComment);
+        eventPublisher.publishEvent(ChangeEvent.projectComment(ChangeEvent.Action.UPDATED, id,
+                projectComment.getProject().getId()));
 
         return convertToResponse(updatedComment);
     }
 
+    @Transactional
     public void deleteComment(Long id) {
         ProjectComment comment = projectCommentRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Comment not found with id: " + id));
+        touchProject(comment.getProject().getId());
 
         projectCommentRepo.delete(comment);
+        searchIndex.removeProjectComment(id);
+        projectStatsService.projectCommentsAdded(comment.getProject().getId(), -1);
+        eventPublisher.publishEvent(ChangeEvent.projectComment(ChangeEvent.Action.DELETED, id, comment.getProject().getId()));
     }
 
+    @Transactional
     public void deleteCommentsByProjectId(Long projectId) {
         List<ProjectComment> comments = projectCommentRepo.findByProjectId(projectId);
         projectCommentRepo.deleteAll(comments);
+        comments.forEach(comment -> {
+            searchIndex.removeProjectComment(comment.getId());
+            eventPublisher.publishEvent(ChangeEvent.projectComment(ChangeEvent.Action.DELETED, comment.getId(), projectId));
+        });
+        projectStatsService.markDirty(projectId);
+    }
+
+    // comments are part of the project representation, so its version moves with them; the project is
+    // loaded under its lock before anything else reads it, so the bump can never meet a stale version
+    private Project touchProject(Long projectId) {
+        Project project = entityManager.find(Project.class, projectId, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+        if (project == null) {
+            throw new RuntimeException("Project not found by id: " + projectId);
+        }
+        return project;
     }
 
     private ProjectCommentResponse convertToResponse(ProjectComment comment) {
@@ -103,4 +213,11 @@ public class ProjectCommentService {
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
+
+    @Transactional(readOnly = true)
+    public List<ProjectCommentResponse> getCommentsByAuthorId(Long authorId) {
+        return projectCommentRepo.findByAuthorId(authorId).stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,193 @@
+package com.example.Project_Management.service;
+
+import com.example.Project_Management.model.Project;
+import com.example.Project_Management.model.dto.ChangeEvent;
+import com.example.Project_Management.model.dto.PurgeStatus;
+import com.example.Project_Management.repo.ProjectCommentRepo;
+import com.example.Project_Management.repo.ProjectRepo;
+import com.example.Project_Management.repo.TaskCommentRepo;
+import com.example.Project_Management.repo.TaskRepo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Background deletion of large projects. Tasks (with their comments and
+ * assignments) and then project comments are removed a chunk at a time, each
+ * chunk in its own short transaction, so no single statement holds locks on
+ * the whole project. The project row goes last. Every chunk updates the
+ * search index and the change feed as it commits, so a purge that fails
+ * half way leaves neither pointing at rows that are already gone.
+ *
+ * Progress is kept in memory for an hour after the last change.
+ *
+ * Properties:
+ *   app.purge.chunk-size  — rows per transaction, defaults to 500
+ */
+@Service
+public class ProjectPurgeService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectPurgeService.class);
+
+    @Autowired private ProjectRepo projectRepo;
+    @Autowired private TaskRepo taskRepo;
+    @Autowired private TaskCommentRepo taskCommentRepo;
+    @Autowired private ProjectCommentRepo projectCommentRepo;
+    @Autowired private EntityManager entityManager;
+    @Autowired private SearchIndex searchIndex;
+    @Autowired private ProjectStatsService projectStatsService;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @Value("${app.purge.chunk-size:500}")
+    private int chunkSize;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "project-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Cache<Long, Progress> jobs = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+
+    private static class Progress {
+        final Long projectId;
+        final long tasksTotal;
+        final long projectCommentsTotal;
+        final LocalDateTime startedAt = LocalDateTime.now();
+        volatile String state = "RUNNING";
+        volatile long tasksDeleted;
+        volatile long projectCommentsDeleted;
+        volatile LocalDateTime finishedAt;
+        volatile String error;
+
+        Progress(Long projectId, long tasksTotal, long projectCommentsTotal) {
+            this.projectId = projectId;
+            this.tasksTotal = tasksTotal;
+            this.projectCommentsTotal = projectCommentsTotal;
+        }
+
+        PurgeStatus snapshot() {
+            return new PurgeStatus(projectId, state, tasksTotal, tasksDeleted, projectCommentsTotal,
+                    projectCommentsDeleted, startedAt, finishedAt, error);
+        }
+    }
+
+    // starting a purge that is already running just reports on it
+    public synchronized PurgeStatus startPurge(Long projectId) {
+        Progress current = jobs.getIfPresent(projectId);
+        if (current != null && current.state.equals("RUNNING")) {
+            return current.snapshot();
+        }
+        if (!projectRepo.existsById(projectId)) {
+            throw new RuntimeException("Project not found with id: " + projectId);
+        }
+
+        Progress progress = new Progress(projectId, taskRepo.countByProjectId(projectId),
+                projectCommentRepo.countByProjectId(projectId));
+        jobs.put(projectId, progress);
+        executor.execute(() -> purge(progress));
+        return progress.snapshot();
+    }
+
+    public PurgeStatus getPurgeStatus(Long projectId) {
+        Progress progress = jobs.getIfPresent(projectId);
+        if (progress == null) {
+            throw new RuntimeException("Purge not found for project id: " + projectId);
+        }
+        return progress.snapshot();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void purge(Progress progress) {
+        Long projectId = progress.projectId;
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            int deleted;
+            do {
+                deleted = transaction.execute(status -> {
+                    List<Long> taskIds = taskRepo.findIdsByProjectId(projectId, Limit.of(chunkSize));
+                    if (!taskIds.isEmpty()) {
+                        taskCommentRepo.bulkDeleteByTaskIds(taskIds);
+                        taskRepo.bulkDeleteAssignmentsByTaskIds(taskIds);
+                        taskRepo.deleteAllByIdInBatch(taskIds);
+                        // readers must not keep serving the pre-purge project
+                        entityManager.find(Project.class, projectId, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+                        // a task's search entry takes its comments with it, as does its deletion for sync clients
+                        taskIds.forEach(taskId -> {
+                            searchIndex.removeTask(taskId);
+                            eventPublisher.publishEvent(ChangeEvent.task(ChangeEvent.Action.DELETED, taskId, projectId));
+                        });
+                    }
+                    return taskIds.size();
+                });
+                progress.tasksDeleted += deleted;
+                touch(progress);
+            } while (deleted > 0);
+
+            do {
+                deleted = transaction.execute(status -> {
+                    List<Long> commentIds = projectCommentRepo.findIdsByProjectId(projectId, Limit.of(chunkSize));
+                    if (!commentIds.isEmpty()) {
+                        projectCommentRepo.deleteAllByIdInBatch(commentIds);
+                        entityManager.find(Project.class, projectId, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+                        commentIds.forEach(commentId -> {
+                            searchIndex.removeProjectComment(commentId);
+                            eventPublisher.publishEvent(
+                                    ChangeEvent.projectComment(ChangeEvent.Action.DELETED, commentId, projectId));
+                        });
+                    }
+                    return commentIds.size();
+                });
+                progress.projectCommentsDeleted += deleted;
+                touch(progress);
+            } while (deleted > 0);
+
+            transaction.executeWithoutResult(status -> {
+                List<Long> memberIds = projectRepo.findAssignedEmployeeIdsById(projectId);
+                projectRepo.bulkDeleteMembersByProjectId(projectId);
+                projectRepo.deleteAllByIdInBatch(List.of(projectId));
+                projectStatsService.markDirty(projectId);
+                eventPublisher.publishEvent(ChangeEvent.projectDeleted(projectId, memberIds));
+            });
+            searchIndex.removeProject(projectId);
+            progress.state = "COMPLETED";
+        } catch (RuntimeException e) {
+            log.warn("Purge of project {} failed", projectId, e);
+            progress.error = e.getMessage();
+            progress.state = "FAILED";
+            // chunks do not touch the stats, so a half-purged project is recounted once here
+            projectStatsService.markDirty(projectId);
+        } finally {
+            progress.finishedAt = LocalDateTime.now();
+            touch(progress);
+        }
+    }
+
+    private void touch(Progress progress) {
+        jobs.put(progress.projectId, progress);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.Project_Management.service;
+
+import com.example.Project_Management.model.dto.ProjectResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Pre-serialized JSON for GET /api/projects/{id}, keyed by project id and the
+ * response's ETag (which already encodes the project version and include
+ * selection), so a stale entry can never be served. Writes therefore do not
+ * invalidate anything; superseded entries simply age out under the weight
+ * bound.
+ *
+ * Concurrent misses for the same key share one build: the first caller
+ * builds and serializes on its own thread, the others wait on its result.
+ */
+@Service
+public class ProjectResponseCache {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${project-response-cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    private AsyncCache<Key, byte[]> cache;
+
+    private record Key(Long projectId, String etag) {
+    }
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, byte[] body) -> body.length)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "projectResponses");
+    }
+
+    public byte[] get(Long projectId, String etag, Supplier<ProjectResponse> builder) {
+        Key key = new Key(projectId, etag);
+        CompletableFuture<byte[]> pending = new CompletableFuture<>();
+        // going through get() rather than the map view keeps the hit/miss stats
+        CompletableFuture<byte[]> existing = cache.get(key, (k, executor) -> pending);
+        if (existing != pending) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(builder.get());
+            pending.complete(body);
+            return body;
+        } catch (JsonProcessingException e) {
+            RuntimeException failure = new RuntimeException("Could not serialize project " + projectId, e);
+            pending.completeExceptionally(failure);
+            throw failure;
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+}
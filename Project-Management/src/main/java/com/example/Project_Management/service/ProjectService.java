@@ -3,39 +3,147 @@ package com.example.Project_Management.service;
 
 import com.example.Project_Management.model.*;
 import com.example.Project_Management.model.dto.*;
+import com.example.Project_Management.repo.ProjectCommentRepo;
 import com.example.Project_Management.repo.ProjectRepo;
+import com.example.Project_Management.repo.TaskCommentRepo;
 import com.example.Project_Management.repo.TaskRepo;
 import com.example.Project_Management.repo.UserRepo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 public class ProjectService {
 
+    private static final int STREAM_CHUNK_SIZE = 50;
+
     @Autowired private ProjectRepo projectRepo;
     @Autowired private UserRepo userRepo;
     @Autowired private TaskRepo taskRepo;
+    @Autowired private TaskCommentRepo taskCommentRepo;
+    @Autowired private ProjectCommentRepo projectCommentRepo;
+    @Autowired private EntityManager entityManager;
+    @Autowired private SearchIndex searchIndex;
+    @Autowired private ProjectStatsService projectStatsService;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * ETags cover the user table as well, because responses embed user names.
+     * Task and comment changes bump the owning project's version, so the
+     * project table's stamp already reflects them.
+     */
+    public String getProjectsETag(Set<Include> includes) {
+        return "projects-" + projectRepo.findVersionStamp().tag()
+                + "-u" + userRepo.findVersionStamp().tag()
+                + "-i" + Include.mask(includes);
+    }
 
+    public String getProjectETag(Long id, Set<Include> includes) {
+        return projectRepo.findVersionById(id)
+                .map(version -> "project-" + id + "." + version
+                        + "-u" + userRepo.findVersionStamp().tag()
+                        + "-i" + Include.mask(includes))
+                .orElse(null);
+    }
+    @Transactional(readOnly = true)
     public List<ProjectResponse> getAllProjectResponses() {
-        return projectRepo.findAll().stream()
-                .map(this::convertToFullResponse)
-                .collect(Collectors.toList());
+        return getAllProjectResponses(EnumSet.allOf(Include.class));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProjectResponse> getAllProjectResponses(Set<Include> includes) {
+        return convertToFullResponses(projectRepo.findAll(), includes);
+    }
+
+    /**
+     * Emits every project without materializing the full list; each chunk's
+     * graph is loaded with the same fixed set of queries as the list endpoint
+     * and the persistence context is cleared afterwards.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllProjects(Consumer<ProjectResponse> sink) {
+        Set<Include> includes = EnumSet.allOf(Include.class);
+        try (Stream<Project> projects = projectRepo.streamAll()) {
+            List<Project> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+            Iterator<Project> iterator = projects.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == STREAM_CHUNK_SIZE) {
+                    convertToFullResponses(chunk, includes).forEach(sink);
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+            convertToFullResponses(chunk, includes).forEach(sink);
+        }
+    }
+
+    public CursorPage<ProjectSummary> getProjectSummaries(String cursor, int size) {
+        int limit = CursorPage.pageSize(size);
+        List<ProjectSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = projectRepo.findSummaries(Limit.of(limit + 1));
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = projectRepo.findSummariesAfter(after.createdAt(), after.id(), Limit.of(limit + 1));
+        }
+        return CursorPage.fromRows(rows, limit, s -> new KeysetCursor(s.createdAt(), s.id()));
+    }
+
+    public CursorPage<ProjectSummary> getProjectSummariesByUserId(Long userId, String cursor, int size) {
+        int limit = CursorPage.pageSize(size);
+        List<ProjectSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = projectRepo.findSummariesByUserId(userId, Limit.of(limit + 1));
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = projectRepo.findSummariesByUserIdAfter(userId, after.createdAt(), after.id(), Limit.of(limit + 1));
+        }
+        return CursorPage.fromRows(rows, limit, s -> new KeysetCursor(s.createdAt(), s.id()));
     }
 
+    @Transactional(readOnly = true)
     public ProjectResponse getProjectById(Long id) {
+        return getProjectById(id, EnumSet.allOf(Include.class));
+    }
+
+    @Transactional(readOnly = true)
+    public ProjectResponse getProjectById(Long id, Set<Include> includes) {
         Project project = projectRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Project not found with id: " + id));
-        return convertToFullResponse(project);
+        return convertToFullResponses(List.of(project), includes).get(0);
     }
 
+    @Transactional
     public ProjectResponse addProject(ProjectCreate projectCreate) {
+        List<TaskCreate> taskCreates = projectCreate.tasks() != null ? projectCreate.tasks() : List.of();
+        if (projectCreate.createdByAdminId() == null) {
+            throw new RuntimeException("Admin not found");
+        }
+        Map<Long, User> users = resolveUsers(
+                referencedUserIds(projectCreate.createdByAdminId(), projectCreate.assignedEmployeeIds(), taskCreates));
+        User createdByAdmin = users.get(projectCreate.createdByAdminId());
+
         Project project = new Project();
         project.setName(projectCreate.name());
         project.setDescription(projectCreate.description());
@@ -43,42 +151,55 @@ public class ProjectService {
         project.setStartDate(projectCreate.startDate());
         project.setEndDate(projectCreate.endDate());
         project.setCreatedAt(LocalDateTime.now());
-
-        // Set multiple assigned employees
-        if (projectCreate.assignedEmployeeIds() != null && !projectCreate.assignedEmployeeIds().isEmpty()) {
-            List<User> employees = userRepo.findAllById(projectCreate.assignedEmployeeIds());
-            project.setAssignedEmployees(employees);
-        }
-
-        User createdByAdmin = userRepo.findById(projectCreate.createdByAdminId())
-                .orElseThrow(() -> new RuntimeException("Admin not found"));
         project.setCreatedByAdmin(createdByAdmin);
+        project.setAssignedEmployees(usersFor(projectCreate.assignedEmployeeIds(), users));
 
-        Project savedProject = projectRepo.save(project);
-
-        if (projectCreate.tasks() != null && !projectCreate.tasks().isEmpty()) {
-            for (TaskCreate taskCreate : projectCreate.tasks()) {
-                createTaskForProject(savedProject, taskCreate, createdByAdmin);
-            }
+        List<Task> tasks = new ArrayList<>(taskCreates.size());
+        for (TaskCreate taskCreate : taskCreates) {
+            tasks.add(buildTask(project, taskCreate, createdByAdmin, users));
         }
+        project.setTasks(tasks);
 
-        if (projectCreate.comments() != null && !projectCreate.comments().isEmpty()) {
+        List<ProjectComment> comments = new ArrayList<>();
+        if (projectCreate.comments() != null) {
             for (String commentContent : projectCreate.comments()) {
                 ProjectComment comment = new ProjectComment();
                 comment.setContent(commentContent);
-                comment.setProject(savedProject);
+                comment.setProject(project);
                 comment.setAuthor(createdByAdmin);
                 comment.setCreatedAt(LocalDateTime.now());
-                savedProject.getComments().add(comment);
+                comments.add(comment);
             }
         }
+        project.setComments(comments);
 
-        return convertToFullResponse(projectRepo.save(savedProject));
+        // tasks and comments cascade from the project and go out in the same batched flush
+        Project savedProject = projectRepo.save(project);
+        searchIndex.indexProject(savedProject);
+        tasks.forEach(searchIndex::indexTask);
+        comments.forEach(searchIndex::indexProjectComment);
+        projectStatsService.markDirty(savedProject.getId());
+        eventPublisher.publishEvent(ChangeEvent.project(ChangeEvent.Action.CREATED, savedProject.getId()));
+        tasks.forEach(task -> eventPublisher.publishEvent(
+                ChangeEvent.task(ChangeEvent.Action.CREATED, task.getId(), savedProject.getId())));
+        comments.forEach(comment -> eventPublisher.publishEvent(
+                ChangeEvent.projectComment(ChangeEvent.Action.CREATED, comment.getId(), savedProject.getId())));
+        return convertToFullResponse(savedProject);
     }
 
+    @Transactional
     public ProjectResponse updateProject(Long id, ProjectUpdate projectUpdate) {
-        Project project = projectRepo.findById(id)
-                .orElseThrow(() -> new RuntimeException("Project not found with id: " + id));
+        List<TaskCreate> newTasks = projectUpdate.newTasks() != null ? projectUpdate.newTasks() : List.of();
+        // locked up front, so a child write bumping the version meanwhile cannot fail the versioned write;
+        // new tasks change the representation even when no project column does, so they force a bump
+        Project project = entityManager.find(Project.class, id, newTasks.isEmpty()
+                ? LockModeType.PESSIMISTIC_WRITE
+                : LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+        if (project == null) {
+            throw new RuntimeException("Project not found with id: " + id);
+        }
+        Map<Long, User> users = resolveUsers(
+                referencedUserIds(projectUpdate.updatedByAdminId(), projectUpdate.assignedEmployeeIds(), newTasks));
 
         if (projectUpdate.name() != null) project.setName(projectUpdate.name());
         if (projectUpdate.description() != null) project.setDescription(projectUpdate.description());
@@ -86,33 +207,66 @@ public class ProjectService {
         if (projectUpdate.startDate() != null) project.setStartDate(projectUpdate.startDate());
         if (projectUpdate.endDate() != null) project.setEndDate(projectUpdate.endDate());
 
+        Set<Long> removedMembers = new LinkedHashSet<>();
         if (projectUpdate.assignedEmployeeIds() != null && !projectUpdate.assignedEmployeeIds().isEmpty()) {
-            List<User> employees = userRepo.findAllById(projectUpdate.assignedEmployeeIds());
-            project.setAssignedEmployees(employees);
-        }
-
-        User updatedByAdmin = null;
-        if (projectUpdate.updatedByAdminId() != null) {
-            updatedByAdmin = userRepo.findById(projectUpdate.updatedByAdminId())
-                    .orElseThrow(() -> new RuntimeException("Admin not found"));
+            if (project.getAssignedEmployees() != null) {
+                project.getAssignedEmployees().forEach(user -> removedMembers.add(user.getId()));
+            }
+            project.setAssignedEmployees(usersFor(projectUpdate.assignedEmployeeIds(), users));
+            project.getAssignedEmployees().forEach(user -> removedMembers.remove(user.getId()));
         }
 
-        if (projectUpdate.newTasks() != null && !projectUpdate.newTasks().isEmpty()) {
-            for (TaskCreate taskCreate : projectUpdate.newTasks()) {
-                createTaskForProject(project, taskCreate, updatedByAdmin);
+        if (!newTasks.isEmpty()) {
+            User updatedByAdmin = projectUpdate.updatedByAdminId() != null
+                    ? users.get(projectUpdate.updatedByAdminId())
+                    : project.getCreatedByAdmin();
+            List<Task> tasks = new ArrayList<>(newTasks.size());
+            for (TaskCreate taskCreate : newTasks) {
+                tasks.add(buildTask(project, taskCreate, updatedByAdmin, users));
+            }
+            for (Task task : taskRepo.saveAll(tasks)) {
+                searchIndex.indexTask(task);
+                projectStatsService.taskAdded(id, task.getStatus(), task.getPriority());
+                eventPublisher.publishEvent(ChangeEvent.task(ChangeEvent.Action.CREATED, task.getId(), id));
             }
         }
 
-        return convertToFullResponse(projectRepo.save(project));
+        Project savedProject = projectRepo.save(project);
+        searchIndex.indexProject(savedProject);
+        eventPublisher.publishEvent(ChangeEvent.project(ChangeEvent.Action.UPDATED, id));
+        if (!removedMembers.isEmpty()) {
+            // they can no longer see the project, so sync has to tell them directly
+            eventPublisher.publishEvent(ChangeEvent.projectRemoved(id, removedMembers));
+        }
+        return convertToFullResponse(savedProject);
     }
 
+    /**
+     * Deletes the project and everything under it with one set-based DELETE
+     * per table, children first, instead of loading the whole graph for
+     * cascading. Very large projects should go through ProjectPurgeService,
+     * which does the same in short chunked transactions.
+     */
+    @Transactional
     public void deleteProject(Long id) {
-        Project project = projectRepo.findById(id)
-                .orElseThrow(() -> new RuntimeException("Project not found with id: " + id));
-        projectRepo.delete(project);
+        if (!projectRepo.existsById(id)) {
+            throw new RuntimeException("Project not found with id: " + id);
+        }
+        taskCommentRepo.bulkDeleteByProjectId(id);
+        taskRepo.bulkDeleteAssignmentsByProjectId(id);
+        taskRepo.bulkDeleteByProjectId(id);
+        projectCommentRepo.bulkDeleteByProjectId(id);
+        // read before the memberships go, so the deletion still reaches the former members
+        List<Long> memberIds = projectRepo.findAssignedEmployeeIdsById(id);
+        projectRepo.bulkDeleteMembersByProjectId(id);
+        projectRepo.deleteAllByIdInBatch(List.of(id));
+        searchIndex.removeProject(id);
+        projectStatsService.markDirty(id);
+        eventPublisher.publishEvent(ChangeEvent.projectDeleted(id, memberIds));
     }
 
-    private void createTaskForProject(Project project, TaskCreate taskCreate, User assignedByAdmin) {
+    // a task's own assignedByAdminId wins over the admin creating or updating the project
+    private Task buildTask(Project project, TaskCreate taskCreate, User defaultAdmin, Map<Long, User> users) {
         Task task = new Task();
         task.setTitle(taskCreate.title());
         task.setDescription(taskCreate.description());
@@ -121,24 +275,87 @@ public class ProjectService {
         task.setDueDate(taskCreate.dueDate());
         task.setProject(project);
         task.setCreatedAt(LocalDateTime.now());
+        task.setAssignedEmployees(usersFor(taskCreate.assignedEmployeeIds(), users));
+        task.setAssignedByAdmin(taskCreate.assignedByAdminId() != null
+                ? users.get(taskCreate.assignedByAdminId())
+                : defaultAdmin);
+        return task;
+    }
+
+    private static Set<Long> referencedUserIds(Long adminId, List<Long> employeeIds, List<TaskCreate> tasks) {
+        Set<Long> ids = new LinkedHashSet<>();
+        if (adminId != null) ids.add(adminId);
+        if (employeeIds != null) ids.addAll(employeeIds);
+        for (TaskCreate task : tasks) {
+            if (task.assignedByAdminId() != null) ids.add(task.assignedByAdminId());
+            if (task.assignedEmployeeIds() != null) ids.addAll(task.assignedEmployeeIds());
+        }
+        ids.remove(null);
+        return ids;
+    }
+
+    /**
+     * Loads every referenced user with one query. All unknown ids are
+     * reported together, before anything is written.
+     */
+    private Map<Long, User> resolveUsers(Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, User> users = userRepo.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        List<Long> missing = ids.stream().filter(userId -> !users.containsKey(userId)).collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            throw new RuntimeException("Users not found with ids: " + missing);
+        }
+        return users;
+    }
+
+    private static List<User> usersFor(List<Long> ids, Map<Long, User> users) {
+        if (ids == null || ids.isEmpty()) {
+            return null;
+        }
+        return ids.stream().filter(Objects::nonNull).distinct().map(users::get).collect(Collectors.toList());
+    }
 
-        if (taskCreate.assignedEmployeeIds() != null && !taskCreate.assignedEmployeeIds().isEmpty()) {
-            List<User> employees = userRepo.findAllById(taskCreate.assignedEmployeeIds());
-            task.setAssignedEmployees(employees);
+    /**
+     * Converts projects to responses after loading everything the requested
+     * parts of the response touch in a fixed number of queries, independent of
+     * how many projects, tasks or comments there are. Associations outside
+     * {@code includes} are not loaded. Must run inside a transaction.
+     */
+    private List<ProjectResponse> convertToFullResponses(List<Project> projects, Set<Include> includes) {
+        if (projects.isEmpty()) {
+            return new ArrayList<>();
         }
 
-        if (assignedByAdmin != null) task.setAssignedByAdmin(assignedByAdmin);
+        List<Long> projectIds = projects.stream().map(Project::getId).collect(Collectors.toList());
+        if (includes.contains(Include.EMPLOYEES)) projectRepo.fetchMembers(projectIds);
+        if (includes.contains(Include.COMMENTS)) projectRepo.fetchComments(projectIds);
+        if (includes.contains(Include.TASKS)) {
+            projectRepo.fetchTasks(projectIds);
+            if (includes.contains(Include.EMPLOYEES)) taskRepo.fetchAssigneesByProjectIds(projectIds);
+            if (includes.contains(Include.TASK_COMMENTS)) taskRepo.fetchCommentsByProjectIds(projectIds);
+        }
 
-        taskRepo.save(task);
+        return projects.stream()
+                .map(project -> convertToFullResponse(project, includes))
+                .collect(Collectors.toList());
     }
 
     private ProjectResponse convertToFullResponse(Project project) {
-        List<TaskResponse> taskResponses = new ArrayList<>();
+        return convertToFullResponse(project, EnumSet.allOf(Include.class));
+    }
+
+    private ProjectResponse convertToFullResponse(Project project, Set<Include> includes) {
+        boolean withEmployees = includes.contains(Include.EMPLOYEES);
+        List<TaskResponse> taskResponses = includes.contains(Include.TASKS) ? new ArrayList<>() : null;
 
-        if (project.getTasks() != null) {
+        if (taskResponses != null && project.getTasks() != null) {
             for (Task task : project.getTasks()) {
-                List<TaskCommentResponse> taskCommentResponses = new ArrayList<>();
-                if (task.getComments() != null) {
+                List<TaskCommentResponse> taskCommentResponses =
+                        includes.contains(Include.TASK_COMMENTS) ? new ArrayList<>() : null;
+                if (taskCommentResponses != null && task.getComments() != null) {
                     for (TaskComment comment : task.getComments()) {
                         taskCommentResponses.add(new TaskCommentResponse(
                                 comment.getId(),
@@ -151,7 +368,8 @@ public class ProjectService {
                 }
 
                 // collect assigned employee names
-                List<String> employeeNames = task.getAssignedEmployees() != null
+                List<String> employeeNames = !withEmployees ? null
+                        : task.getAssignedEmployees() != null
                         ? task.getAssignedEmployees().stream().map(User::getName).collect(Collectors.toList())
                         : new ArrayList<>();
 
@@ -164,15 +382,16 @@ public class ProjectService {
                         task.getDueDate(),
                         task.getProject() != null ? task.getProject().getName() : null,
                         employeeNames,
-                        task.getAssignedByAdmin() != null ? task.getAssignedByAdmin().getName() : null,
+                        withEmployees && task.getAssignedByAdmin() != null ? task.getAssignedByAdmin().getName() : null,
                         taskCommentResponses,
                         task.getCreatedAt()
                 ));
             }
         }
 
-        List<ProjectCommentResponse> projectCommentResponses = new ArrayList<>();
-        if (project.getComments() != null) {
+        List<ProjectCommentResponse> projectCommentResponses =
+                includes.contains(Include.COMMENTS) ? new ArrayList<>() : null;
+        if (projectCommentResponses != null && project.getComments() != null) {
             for (ProjectComment comment : project.getComments()) {
                 projectCommentResponses.add(new ProjectCommentResponse(
                         comment.getId(),
@@ -184,7 +403,8 @@ public class ProjectService {
             }
         }
 
-        List<String> employeeNames = project.getAssignedEmployees() != null
+        List<String> employeeNames = !withEmployees ? null
+                : project.getAssignedEmployees() != null
                 ? project.getAssignedEmployees().stream().map(User::getName).collect(Collectors.toList())
                 : new ArrayList<>();
 
@@ -196,18 +416,27 @@ public class ProjectService {
                 project.getStartDate(),
                 project.getEndDate(),
                 employeeNames,
-                project.getCreatedByAdmin() != null ? project.getCreatedByAdmin().getName() : null,
+                withEmployees && project.getCreatedByAdmin() != null ? project.getCreatedByAdmin().getName() : null,
                 taskResponses,
                 projectCommentResponses,
                 project.getCreatedAt()
         );
     }
 
+    @Transactional(readOnly = true)
     public List<ProjectResponse> getProjectsByUsername(String username) {
         User user = userRepo.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        return projectRepo.findByAssignedEmployee(user).stream()
-                .map(this::convertToFullResponse)
-                .collect(Collectors.toList());
+        return convertToFullResponses(projectRepo.findByAssignedEmployee(user), EnumSet.allOf(Include.class));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProjectResponse> getProjectsByUserId(Long userId) {
+        return getProjectsByUserId(userId, EnumSet.allOf(Include.class));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProjectResponse> getProjectsByUserId(Long userId, Set<Include> includes) {
+        return convertToFullResponses(projectRepo.findByAssignedEmployeeId(userId), includes);
     }
 }
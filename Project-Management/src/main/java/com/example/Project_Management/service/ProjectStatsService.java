@@ -0,0 +1,396 @@
+package com.example.Project_Management.service;
+
+import com.example.Project_Management.model.ProjectStats;
+import com.example.Project_Management.model.dto.ProjectStatsResponse;
+import com.example.Project_Management.repo.ProjectStatsRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-project task and comment counters for the admin overview.
+ *
+ * Single-row writes report what they changed: a task added or removed with
+ * its status and priority, or comments added or removed. Just before the
+ * transaction commits, each touched project's stats row is locked and the
+ * deltas are applied to it, so the row commits together with the change it
+ * describes. Bulk changes call {@link #markDirty} instead, which recounts the
+ * project from scratch with a handful of grouped queries, as does the
+ * reconciliation job.
+ *
+ * Once a transaction has committed, the rows it wrote are copied into memory
+ * for readers; the row version keeps a late callback from replacing a newer
+ * copy. Overdue depends on the clock, so it is counted with a query at read
+ * time instead.
+ *
+ * Properties:
+ *   app.stats.reconcile-ms  — delay between full recounts, defaults to an hour
+ */
+@Service
+public class ProjectStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectStatsService.class);
+
+    public static final String DONE_STATUS = "COMPLETED";
+    // status and priority are nullable, but map keys are not
+    public static final String UNSET = "UNSET";
+
+    private static final int RECOUNT_CHUNK_SIZE = 500;
+    private static final int RECONCILE_CHUNK_SIZE = 200;
+
+    @Autowired
+    private ProjectStatsRepo projectStatsRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<Long, Counts> committed = new ConcurrentHashMap<>();
+
+    /** A committed stats row; a project that no longer exists has no updatedAt. */
+    private record Counts(Long projectId, int tasksTotal, Map<String, Integer> byStatus,
+                          Map<String, Integer> byPriority, int projectComments, int taskComments,
+                          LocalDateTime updatedAt, long version) {
+
+        static Counts of(ProjectStats row) {
+            return new Counts(row.getProjectId(), row.getTasksTotal(), new TreeMap<>(row.getByStatus()),
+                    new TreeMap<>(row.getByPriority()), row.getProjectComments(), row.getTaskComments(),
+                    row.getUpdatedAt(), row.getVersion());
+        }
+
+        // ids are never reused, so nothing can come after a removal
+        static Counts removed(Long projectId) {
+            return new Counts(projectId, 0, Map.of(), Map.of(), 0, 0, null, Long.MAX_VALUE);
+        }
+
+        boolean isRemoved() {
+            return updatedAt == null;
+        }
+    }
+
+    /** What the single-row writes of one transaction changed in one project. */
+    private static class Delta {
+
+        int tasks;
+        final Map<String, Integer> byStatus = new HashMap<>();
+        final Map<String, Integer> byPriority = new HashMap<>();
+        int projectComments;
+        int taskComments;
+    }
+
+    public List<ProjectStatsResponse> getAllStats() {
+        Map<Long, Long> overdue = new HashMap<>();
+        for (Object[] row : projectStatsRepo.countOverdueTasks(LocalDateTime.now(), DONE_STATUS)) {
+            overdue.put((Long) row[0], (Long) row[1]);
+        }
+        return committed.values().stream()
+                .filter(counts -> !counts.isRemoved())
+                .sorted(Comparator.comparing(Counts::projectId))
+                .map(counts -> toResponse(counts, overdue.getOrDefault(counts.projectId(), 0L)))
+                .toList();
+    }
+
+    public ProjectStatsResponse getStats(Long projectId) {
+        Counts counts = committed.get(projectId);
+        if (counts == null || counts.isRemoved()) {
+            throw new RuntimeException("Project stats not found with id: " + projectId);
+        }
+        return toResponse(counts,
+                projectStatsRepo.countOverdueTasksByProjectId(projectId, LocalDateTime.now(), DONE_STATUS));
+    }
+
+    public void taskAdded(Long projectId, String status, String priority) {
+        countTask(projectId, status, priority, 1);
+    }
+
+    public void taskRemoved(Long projectId, String status, String priority) {
+        countTask(projectId, status, priority, -1);
+    }
+
+    /** {@code count} is negative for comments removed. */
+    public void projectCommentsAdded(Long projectId, int count) {
+        Delta delta = delta(projectId);
+        if (delta != null) {
+            delta.projectComments += count;
+        }
+    }
+
+    /** {@code count} is negative for comments removed. */
+    public void taskCommentsAdded(Long projectId, int count) {
+        Delta delta = delta(projectId);
+        if (delta != null) {
+            delta.taskComments += count;
+        }
+    }
+
+    public void markDirty(Long projectId) {
+        markDirty(List.of(projectId));
+    }
+
+    /**
+     * Recounts the projects when the current transaction commits, or right
+     * away in a transaction of its own when there is none.
+     */
+    public void markDirty(Collection<Long> projectIds) {
+        if (projectIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> markDirty(projectIds));
+            return;
+        }
+        pending().dirty.addAll(projectIds);
+    }
+
+    /**
+     * Recounts every project from scratch, a chunk of projects per
+     * transaction, and drops stats of projects that no longer exist. Also
+     * builds the in-memory state at startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-ms:3600000}",
+            initialDelayString = "${app.stats.reconcile-ms:3600000}")
+    public void reconcile() {
+        long started = System.currentTimeMillis();
+        committed.values().removeIf(Counts::isRemoved);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<Long> projectIds = transaction.execute(status -> projectStatsRepo.findAllExistingProjectIds());
+        for (int from = 0; from < projectIds.size(); from += RECONCILE_CHUNK_SIZE) {
+            markDirty(projectIds.subList(from, Math.min(from + RECONCILE_CHUNK_SIZE, projectIds.size())));
+        }
+
+        Set<Long> orphans = new HashSet<>(transaction.execute(status -> projectStatsRepo.findAllProjectIds()));
+        orphans.addAll(committed.keySet());
+        projectIds.forEach(orphans::remove);
+        markDirty(orphans);
+        log.info("Project stats reconciled for {} projects in {} ms",
+                projectIds.size(), System.currentTimeMillis() - started);
+    }
+
+    private void countTask(Long projectId, String status, String priority, int sign) {
+        Delta delta = delta(projectId);
+        if (delta == null) {
+            return;
+        }
+        delta.tasks += sign;
+        delta.byStatus.merge(status != null ? status : UNSET, sign, Integer::sum);
+        delta.byPriority.merge(priority != null ? priority : UNSET, sign, Integer::sum);
+    }
+
+    // null when there is no transaction to apply it in; the project is recounted instead
+    private Delta delta(Long projectId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            markDirty(projectId);
+            return null;
+        }
+        return pending().deltas.computeIfAbsent(projectId, id -> new Delta());
+    }
+
+    private Pending pending() {
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new Pending();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    /** Deltas and dirty projects of one transaction. */
+    private class Pending implements TransactionSynchronization {
+
+        final Set<Long> dirty = new TreeSet<>();
+        final Map<Long, Delta> deltas = new HashMap<>();
+        // the rows this transaction wrote, with null for the ones it deleted
+        final Map<Long, ProjectStats> written = new HashMap<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            Set<Long> touched = new TreeSet<>(dirty);
+            touched.addAll(deltas.keySet());
+            List<Long> ids = new ArrayList<>(touched);
+            for (int from = 0; from < ids.size(); from += RECOUNT_CHUNK_SIZE) {
+                update(ids.subList(from, Math.min(from + RECOUNT_CHUNK_SIZE, ids.size())), this);
+            }
+        }
+
+        // ahead of the change-log listener, which has to take its lock last
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status == STATUS_COMMITTED) {
+                // the rows have been flushed, so their versions are the committed ones
+                written.forEach((projectId, row) -> publish(row != null ? Counts.of(row) : Counts.removed(projectId)));
+            }
+            TransactionSynchronizationManager.unbindResourceIfPossible(ProjectStatsService.this);
+        }
+    }
+
+    // runs inside the writing transaction; ids are sorted, so rows are always locked in the same order
+    private void update(List<Long> projectIds, Pending pending) {
+        Map<Long, ProjectStats> rows = new HashMap<>();
+        projectStatsRepo.findAllForUpdate(projectIds).forEach(row -> rows.put(row.getProjectId(), row));
+        List<Long> missing = projectIds.stream().filter(id -> !rows.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            // a row is only created under its project's lock, so two transactions never both insert it
+            projectStatsRepo.lockExistingProjects(missing);
+            projectStatsRepo.findAllForUpdate(missing).forEach(row -> rows.put(row.getProjectId(), row));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> recount = new ArrayList<>();
+        for (Long projectId : projectIds) {
+            Delta delta = pending.dirty.contains(projectId) ? null : pending.deltas.get(projectId);
+            ProjectStats row = rows.get(projectId);
+            if (delta != null && row != null && applyDelta(delta, row, now)) {
+                pending.written.put(projectId, row);
+            } else {
+                recount.add(projectId);
+            }
+        }
+        if (!recount.isEmpty()) {
+            recount(recount, rows, pending, now);
+        }
+    }
+
+    // false when the delta does not fit (a count would go negative), so the project is recounted instead
+    private boolean applyDelta(Delta delta, ProjectStats row, LocalDateTime now) {
+        Map<String, Integer> byStatus = applyCounts(row.getByStatus(), delta.byStatus);
+        Map<String, Integer> byPriority = applyCounts(row.getByPriority(), delta.byPriority);
+        int tasksTotal = row.getTasksTotal() + delta.tasks;
+        int projectComments = row.getProjectComments() + delta.projectComments;
+        int taskComments = row.getTaskComments() + delta.taskComments;
+        if (byStatus == null || byPriority == null || tasksTotal < 0 || projectComments < 0 || taskComments < 0) {
+            log.warn("Project stats of project {} drifted, recounting", row.getProjectId());
+            return false;
+        }
+
+        ProjectStats counted = new ProjectStats(row.getProjectId(), tasksTotal, byStatus, byPriority,
+                projectComments, taskComments, null, null);
+        if (copyCounts(counted, row)) {
+            row.setUpdatedAt(now);
+        }
+        return true;
+    }
+
+    private static Map<String, Integer> applyCounts(Map<String, Integer> counts, Map<String, Integer> delta) {
+        Map<String, Integer> result = new HashMap<>(counts);
+        for (Map.Entry<String, Integer> change : delta.entrySet()) {
+            int count = result.getOrDefault(change.getKey(), 0) + change.getValue();
+            if (count < 0) {
+                return null;
+            }
+            if (count == 0) {
+                result.remove(change.getKey());
+            } else {
+                result.put(change.getKey(), count);
+            }
+        }
+        return result;
+    }
+
+    private void recount(List<Long> projectIds, Map<Long, ProjectStats> rows, Pending pending, LocalDateTime now) {
+        Set<Long> existing = new HashSet<>(projectStatsRepo.findExistingProjectIds(projectIds));
+
+        Map<Long, ProjectStats> fresh = new HashMap<>();
+        for (Long projectId : existing) {
+            ProjectStats stats = new ProjectStats();
+            stats.setProjectId(projectId);
+            fresh.put(projectId, stats);
+        }
+        for (Object[] row : projectStatsRepo.countTasks(projectIds)) {
+            ProjectStats stats = fresh.get((Long) row[0]);
+            int count = ((Long) row[3]).intValue();
+            stats.setTasksTotal(stats.getTasksTotal() + count);
+            stats.getByStatus().merge(row[1] != null ? (String) row[1] : UNSET, count, Integer::sum);
+            stats.getByPriority().merge(row[2] != null ? (String) row[2] : UNSET, count, Integer::sum);
+        }
+        for (Object[] row : projectStatsRepo.countProjectComments(projectIds)) {
+            fresh.get((Long) row[0]).setProjectComments(((Long) row[1]).intValue());
+        }
+        for (Object[] row : projectStatsRepo.countTaskComments(projectIds)) {
+            fresh.get((Long) row[0]).setTaskComments(((Long) row[1]).intValue());
+        }
+
+        for (Long projectId : projectIds) {
+            ProjectStats stats = fresh.get(projectId);
+            ProjectStats row = rows.get(projectId);
+            if (stats == null) {
+                if (row != null) {
+                    projectStatsRepo.delete(row);
+                }
+                pending.written.put(projectId, null);
+                continue;
+            }
+
+            if (row == null) {
+                stats.setUpdatedAt(now);
+                row = projectStatsRepo.save(stats);
+            } else if (copyCounts(stats, row)) {
+                row.setUpdatedAt(now);
+            }
+            pending.written.put(projectId, row);
+        }
+    }
+
+    // commits of the same row can report back in either order, so the higher version wins
+    private void publish(Counts counts) {
+        committed.merge(counts.projectId(), counts, (current, next) -> next.version() >= current.version() ? next : current);
+    }
+
+    // updates only what changed, so an unchanged project costs no writes
+    private static boolean copyCounts(ProjectStats from, ProjectStats to) {
+        boolean changed = to.getTasksTotal() != from.getTasksTotal()
+                || to.getProjectComments() != from.getProjectComments()
+                || to.getTaskComments() != from.getTaskComments()
+                || !to.getByStatus().equals(from.getByStatus())
+                || !to.getByPriority().equals(from.getByPriority());
+        if (changed) {
+            to.setTasksTotal(from.getTasksTotal());
+            to.setProjectComments(from.getProjectComments());
+            to.setTaskComments(from.getTaskComments());
+            to.getByStatus().keySet().retainAll(from.getByStatus().keySet());
+            to.getByStatus().putAll(from.getByStatus());
+            to.getByPriority().keySet().retainAll(from.getByPriority().keySet());
+            to.getByPriority().putAll(from.getByPriority());
+        }
+        return changed;
+    }
+
+    private static ProjectStatsResponse toResponse(Counts counts, long overdue) {
+        return new ProjectStatsResponse(
+                counts.projectId(),
+                counts.tasksTotal(),
+                counts.byStatus(),
+                counts.byPriority(),
+                (int) overdue,
+                counts.projectComments(),
+                counts.taskComments(),
+                counts.updatedAt()
+        );
+    }
+}
@@ -0,0 +1,328 @@
+package com.example.Project_Management.service;
+
+import com.example.Project_Management.model.Project;
+import com.example.Project_Management.model.ProjectComment;
+import com.example.Project_Management.model.Task;
+import com.example.Project_Management.model.TaskComment;
+import com.example.Project_Management.model.dto.CursorPage;
+import com.example.Project_Management.model.dto.SearchHit;
+import com.example.Project_Management.model.dto.SearchResults;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over project names and descriptions, task titles
+ * and descriptions, and comment content, ranked with BM25.
+ *
+ * Built from the database once the application is ready and then kept up to
+ * date by the services' write paths. Changes made inside a transaction are
+ * applied only after it commits, so rolled-back writes never show up.
+ *
+ * Text is lower-cased and stripped of accents, and split on anything that is
+ * not a letter or digit; one-character tokens are ignored. The last query
+ * token also matches as a prefix, so results follow the user as they type.
+ */
+@Service
+public class SearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndex.class);
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double PREFIX_WEIGHT = 0.7;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+    private static final int TITLE_LENGTH = 160;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private enum DocType { PROJECT, TASK, PROJECT_COMMENT, TASK_COMMENT }
+
+    private record DocKey(DocType type, long id) {
+    }
+
+    private record Doc(DocKey key, Long projectId, Long taskId, String title, Map<String, Integer> terms, int length) {
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<DocKey, Doc> docs = new HashMap<>();
+    // sorted, so the terms sharing a prefix are one contiguous range
+    private final TreeMap<String, Map<DocKey, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Set<DocKey>> docsByProject = new HashMap<>();
+    private final Map<Long, Set<DocKey>> docsByTask = new HashMap<>();
+    private long totalLength;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            docs.clear();
+            postings.clear();
+            docsByProject.clear();
+            docsByTask.clear();
+            totalLength = 0;
+
+            jdbcTemplate.query("select id, name, description from projects", (RowCallbackHandler) rs -> {
+                long id = rs.getLong("id");
+                put(doc(DocType.PROJECT, id, id, null, rs.getString("name"), rs.getString("description")));
+            });
+            jdbcTemplate.query("select id, project_id, title, description from tasks", (RowCallbackHandler) rs ->
+                    put(doc(DocType.TASK, rs.getLong("id"), rs.getLong("project_id"), rs.getLong("id"),
+                            rs.getString("title"), rs.getString("description"))));
+            jdbcTemplate.query("select id, project_id, content from project_comments", (RowCallbackHandler) rs ->
+                    put(doc(DocType.PROJECT_COMMENT, rs.getLong("id"), rs.getLong("project_id"), null,
+                            rs.getString("content"), null)));
+            jdbcTemplate.query("select c.id, t.project_id, c.task_id, c.content from task_comments c " +
+                    "join tasks t on t.id = c.task_id", (RowCallbackHandler) rs ->
+                    put(doc(DocType.TASK_COMMENT, rs.getLong("id"), rs.getLong("project_id"), rs.getLong("task_id"),
+                            rs.getString("content"), null)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Search index built with {} documents and {} terms in {} ms",
+                docs.size(), postings.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Ranks matching documents. {@code projectIds} limits hits to those
+     * projects; null means no restriction.
+     */
+    public SearchResults search(String query, Set<Long> projectIds, int page, int size) {
+        int pageSize = CursorPage.pageSize(size);
+        int pageNumber = Math.max(0, page);
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return new SearchResults(List.of(), 0, pageNumber, pageSize);
+        }
+
+        lock.readLock().lock();
+        try {
+            double averageLength = docs.isEmpty() ? 1 : (double) totalLength / docs.size();
+            Map<DocKey, Double> scores = new HashMap<>();
+            for (int i = 0; i < tokens.size(); i++) {
+                String token = tokens.get(i);
+                // a token scores through its best-matching term only, so prefixes with many expansions don't dominate
+                Map<DocKey, Double> tokenScores = new HashMap<>();
+                for (Map.Entry<String, Map<DocKey, Integer>> term : matchingTerms(token, i == tokens.size() - 1)) {
+                    double weight = term.getKey().equals(token) ? 1.0 : PREFIX_WEIGHT;
+                    double idf = Math.log(1 + (docs.size() - term.getValue().size() + 0.5) / (term.getValue().size() + 0.5));
+                    for (Map.Entry<DocKey, Integer> posting : term.getValue().entrySet()) {
+                        Doc doc = docs.get(posting.getKey());
+                        if (projectIds != null && !projectIds.contains(doc.projectId())) {
+                            continue;
+                        }
+                        int tf = posting.getValue();
+                        double score = weight * idf * tf * (K1 + 1)
+                                / (tf + K1 * (1 - B + B * doc.length() / averageLength));
+                        tokenScores.merge(posting.getKey(), score, Math::max);
+                    }
+                }
+                tokenScores.forEach((key, score) -> scores.merge(key, score, Double::sum));
+            }
+
+            List<Map.Entry<DocKey, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<DocKey, Double>comparingByValue().reversed()
+                    .thenComparing(entry -> entry.getKey().type())
+                    .thenComparing(entry -> entry.getKey().id()));
+
+            List<SearchHit> hits = new ArrayList<>();
+            long from = (long) pageNumber * pageSize;
+            for (long i = from; i < Math.min(from + pageSize, ranked.size()); i++) {
+                Map.Entry<DocKey, Double> entry = ranked.get((int) i);
+                Doc doc = docs.get(entry.getKey());
+                hits.add(new SearchHit(doc.key().type().name(), doc.key().id(), doc.projectId(), doc.taskId(),
+                        doc.title(), entry.getValue()));
+            }
+            return new SearchResults(hits, ranked.size(), pageNumber, pageSize);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void indexProject(Project project) {
+        Doc doc = doc(DocType.PROJECT, project.getId(), project.getId(), null,
+                project.getName(), project.getDescription());
+        afterCommit(() -> put(doc));
+    }
+
+    public void indexTask(Task task) {
+        Doc doc = doc(DocType.TASK, task.getId(), task.getProject().getId(), task.getId(),
+                task.getTitle(), task.getDescription());
+        afterCommit(() -> put(doc));
+    }
+
+    public void indexProjectComment(ProjectComment comment) {
+        Doc doc = doc(DocType.PROJECT_COMMENT, comment.getId(), comment.getProject().getId(), null,
+                comment.getContent(), null);
+        afterCommit(() -> put(doc));
+    }
+
+    public void indexTaskComment(TaskComment comment) {
+        Doc doc = doc(DocType.TASK_COMMENT, comment.getId(), comment.getTask().getProject().getId(),
+                comment.getTask().getId(), comment.getContent(), null);
+        afterCommit(() -> put(doc));
+    }
+
+    // the project together with its tasks and every comment under it
+    public void removeProject(Long projectId) {
+        afterCommit(() -> removeGroup(docsByProject, projectId));
+    }
+
+    // the task together with its comments
+    public void removeTask(Long taskId) {
+        afterCommit(() -> removeGroup(docsByTask, taskId));
+    }
+
+    public void removeProjectComment(Long commentId) {
+        afterCommit(() -> removeKey(new DocKey(DocType.PROJECT_COMMENT, commentId)));
+    }
+
+    public void removeTaskComment(Long commentId) {
+        afterCommit(() -> removeKey(new DocKey(DocType.TASK_COMMENT, commentId)));
+    }
+
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private Iterable<Map.Entry<String, Map<DocKey, Integer>>> matchingTerms(String token, boolean prefix) {
+        if (!prefix) {
+            Map<DocKey, Integer> exact = postings.get(token);
+            return exact == null ? List.of() : List.of(Map.entry(token, exact));
+        }
+        List<Map.Entry<String, Map<DocKey, Integer>>> terms = new ArrayList<>();
+        for (Map.Entry<String, Map<DocKey, Integer>> term
+                : postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            if (terms.size() == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            terms.add(term);
+        }
+        return terms;
+    }
+
+    private void put(Doc doc) {
+        lock.writeLock().lock();
+        try {
+            remove(doc.key());
+            docs.put(doc.key(), doc);
+            doc.terms().forEach((term, tf) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(doc.key(), tf));
+            totalLength += doc.length();
+            docsByProject.computeIfAbsent(doc.projectId(), id -> new HashSet<>()).add(doc.key());
+            if (doc.taskId() != null) {
+                docsByTask.computeIfAbsent(doc.taskId(), id -> new HashSet<>()).add(doc.key());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeKey(DocKey key) {
+        lock.writeLock().lock();
+        try {
+            remove(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeGroup(Map<Long, Set<DocKey>> groups, Long group) {
+        lock.writeLock().lock();
+        try {
+            Set<DocKey> keys = groups.get(group);
+            if (keys != null) {
+                new ArrayList<>(keys).forEach(this::remove);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // caller holds the write lock
+    private void remove(DocKey key) {
+        Doc doc = docs.remove(key);
+        if (doc == null) {
+            return;
+        }
+        doc.terms().keySet().forEach(term -> {
+            Map<DocKey, Integer> termPostings = postings.get(term);
+            termPostings.remove(key);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+            }
+        });
+        totalLength -= doc.length();
+        removeFrom(docsByProject, doc.projectId(), key);
+        if (doc.taskId() != null) {
+            removeFrom(docsByTask, doc.taskId(), key);
+        }
+    }
+
+    private static void removeFrom(Map<Long, Set<DocKey>> groups, Long group, DocKey key) {
+        Set<DocKey> keys = groups.get(group);
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            groups.remove(group);
+        }
+    }
+
+    private static Doc doc(DocType type, long id, Long projectId, Long taskId, String title, String body) {
+        Map<String, Integer> terms = new HashMap<>();
+        List<String> tokens = new ArrayList<>(tokenize(title));
+        tokens.addAll(tokenize(body));
+        tokens.forEach(token -> terms.merge(token, 1, Integer::sum));
+        String shownTitle = title == null || title.length() <= TITLE_LENGTH ? title : title.substring(0, TITLE_LENGTH) + "…";
+        return new Doc(new DocKey(type, id), projectId, taskId, shownTitle, terms, tokens.size());
+    }
+
+    // lower case without accents, shared with the user typeahead
+    static String fold(String text) {
+        return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(fold(text))) {
+            if (token.length() > 1) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.Project_Management.service;
+
+import com.example.Project_Management.model.UserPrincipal;
+import com.example.Project_Management.model.dto.SearchResults;
+import com.example.Project_Management.repo.ProjectRepo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Service
+public class SearchService {
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private ProjectRepo projectRepo;
+
+    // admins search everything, everyone else only the projects they are assigned to
+    public SearchResults search(String query, UserPrincipal currentUser, int page, int size) {
+        Set<Long> projectIds = "ADMIN".equals(currentUser.getUser().getRole())
+                ? null
+                : new HashSet<>(projectRepo.findIdsByAssignedEmployeeId(currentUser.getId()));
+        return searchIndex.search(query, projectIds, page, size);
+    }
+}
@@ -1,17 +1,25 @@
 package com.example.Project_Management.service;
 
 
+import com.example.Project_Management.model.Project;
 import com.example.Project_Management.model.Task;
 import com.example.Project_Management.model.TaskComment;
 import com.example.Project_Management.model.User;
+import com.example.Project_Management.model.dto.ChangeEvent;
+import com.example.Project_Management.model.dto.CursorPage;
+import com.example.Project_Management.model.dto.KeysetCursor;
 import com.example.Project_Management.model.dto.TaskCommentCreate;
 import com.example.Project_Management.model.dto.TaskCommentResponse;
 import com.example.Project_Management.model.dto.TaskCommentUpdate;
 import com.example.Project_Management.repo.TaskCommentRepo;
-import com.example.Project_Management.repo.TaskRepo;
 import com.example.Project_Management.repo.UserRepo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -27,12 +35,31 @@ public class TaskCommentService {
     private UserRepo userRepo;
 
     @Autowired
-    private TaskRepo taskRepo;
+    private EntityManager entityManager;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private ProjectStatsService projectStatsService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public List<TaskCommentResponse> getCommentsByTaskId(Long taskId) {
-        return taskCommentRepo.findAll().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return taskCommentRepo.findTimeline(taskId);
+    }
+
+    public CursorPage<TaskCommentResponse> getCommentTimeline(Long taskId, String cursor, int size) {
+        int limit = CursorPage.pageSize(size);
+        List<TaskCommentResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = taskCommentRepo.findTimeline(taskId, Limit.of(limit + 1));
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = taskCommentRepo.findTimelineAfter(taskId, after.createdAt(), after.id(), Limit.of(limit + 1));
+        }
+        return CursorPage.fromRows(rows, limit, c -> new KeysetCursor(c.createdAt(), c.id()));
     }
     public TaskCommentResponse getCommentById(Long id) {
         TaskComment comment = taskCommentRepo.findById(id)
@@ -40,10 +67,10 @@ public class TaskCommentService {
         return convertToResponse(comment);
     }
 
+    @Transactional
     public TaskCommentResponse createComment(TaskCommentCreate commentCreate) {
         // Find task
-        Task task = taskRepo.findById(commentCreate.taskId())
-                .orElseThrow(() -> new RuntimeException("Task not found with id: " + commentCreate.taskId()));
+        Task task = touchParents(commentCreate.taskId());
 
         // Find author
         User author = userRepo.findById(commentCreate.authorId())
@@ -58,28 +85,55 @@ public class TaskCommentService {
 
         // Save comment
         TaskComment savedComment = taskCommentRepo.save(comment);
+        searchIndex.indexTaskComment(savedComment);
+        projectStatsService.taskCommentsAdded(task.getProject().getId(), 1);
+        eventPublisher.publishEvent(ChangeEvent.taskComment(ChangeEvent.Action.CREATED, savedComment.getId(),
+                task.getId(), task.getProject().getId()));
 
         return convertToResponse(savedComment);
     }
 
+    @Transactional
     public TaskCommentResponse updateComment(Long id, TaskCommentUpdate taskCommentUpdate){
         TaskComment comment = taskCommentRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Comment not found with id: " + id));
 
+        touchParents(comment.getTask().getId());
+
         // Update content
         comment.setContent(taskCommentUpdate.content());
         comment.setUpdatedAt(LocalDateTime.now());
 
         // Save updated comment
         TaskComment updatedComment = taskCommentRepo.save(comment);
+        searchIndex.indexTaskComment(updatedComment);
+        eventPublisher.publishEvent(ChangeEvent.taskComment(ChangeEvent.Action.UPDATED, id,
+                comment.getTask().getId(), comment.getTask().getProject().getId()));
 
         return convertToResponse(updatedComment);
     }
 
+    @Transactional
     public void deleteComment(Long id) {
         TaskComment comment = taskCommentRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Comment not found with id: " + id));
+        touchParents(comment.getTask().getId());
         taskCommentRepo.delete(comment);
+        searchIndex.removeTaskComment(id);
+        projectStatsService.taskCommentsAdded(comment.getTask().getProject().getId(), -1);
+        eventPublisher.publishEvent(ChangeEvent.taskComment(ChangeEvent.Action.DELETED, id,
+                comment.getTask().getId(), comment.getTask().getProject().getId()));
+    }
+
+    // comments are part of the task and project representations, so both versions move; each parent
+    // is loaded under its lock before anything else reads it, so the bump can never meet a stale version
+    private Task touchParents(Long taskId) {
+        Task task = entityManager.find(Task.class, taskId, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+        if (task == null) {
+            throw new RuntimeException("Task not found with id: " + taskId);
+        }
+        entityManager.find(Project.class, task.getProject().getId(), LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+        return task;
     }
 
     private TaskCommentResponse convertToResponse(TaskComment comment) {
@@ -99,4 +153,10 @@ public class TaskCommentService {
         return taskCommentRepo.findByAuthorId(user.getId()).stream().map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
+
+    @Transactional(readOnly = true)
+    public List<TaskCommentResponse> getCommentsByAuthorId(Long authorId) {
+        return taskCommentRepo.findByAuthorId(authorId).stream().map(this::convertToResponse)
+                .collect(Collectors.toList());
+    }
 }
@@ -4,6 +4,10 @@ import com.example.Project_Management.model.Project;
 import com.example.Project_Management.model.Task;
 import com.example.Project_Management.model.TaskComment;
 import com.example.Project_Management.model.User;
+import com.example.Project_Management.model.dto.ChangeEvent;
+import com.example.Project_Management.model.dto.Include;
+import com.example.Project_Management.model.dto.TaskBulkResult;
+import com.example.Project_Management.model.dto.TaskBulkUpdate;
 import com.example.Project_Management.model.dto.TaskCommentResponse;
 import com.example.Project_Management.model.dto.TaskCreate;
 import com.example.Project_Management.model.dto.TaskResponse;
@@ -11,23 +15,57 @@ import com.example.Project_Management.model.dto.TaskUpdate;
 import com.example.Project_Management.repo.ProjectRepo;
 import com.example.Project_Management.repo.TaskRepo;
 import com.example.Project_Management.repo.UserRepo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import java.util.stream.Collectors;
 
 @Service
 public class TaskService {
 
+    private static final int STREAM_CHUNK_SIZE = 200;
+    // keeps IN lists well below driver bind-parameter limits
+    private static final int BULK_CHUNK_SIZE = 1000;
+
     @Autowired private TaskRepo taskRepo;
     @Autowired private ProjectRepo projectRepo;
     @Autowired private UserRepo userRepo;
+    @Autowired private EntityManager entityManager;
+    @Autowired private SearchIndex searchIndex;
+    @Autowired private ProjectStatsService projectStatsService;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+
+    // task responses embed project and user names, so all three tables count
+    public String getTasksETag(Set<Include> includes) {
+        return "tasks-" + taskRepo.findVersionStamp().tag()
+                + "-p" + projectRepo.findVersionStamp().tag()
+                + "-u" + userRepo.findVersionStamp().tag()
+                + "-i" + Include.mask(includes);
+    }
 
+    @Transactional(readOnly = true)
     public List<TaskResponse> getAllTasks() {
-        return taskRepo.findAll().stream().map(this::convertToTaskResponse).collect(Collectors.toList());
+        return getAllTasks(EnumSet.allOf(Include.class));
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getAllTasks(Set<Include> includes) {
+        return convertToTaskResponses(taskRepo.findAllWithProject(), includes);
     }
 
     public TaskResponse getTaskById(long id) {
@@ -35,14 +73,51 @@ public class TaskService {
                 .orElseThrow(() -> new RuntimeException("Task not found id: " + id)));
     }
 
+    /**
+     * Emits every task without materializing the full list: rows are read
+     * with a JDBC fetch size, converted in chunks (associations are loaded
+     * with one query per chunk) and the persistence context is cleared after
+     * each chunk, so memory stays flat regardless of row count.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllTasks(Consumer<TaskResponse> sink) {
+        Set<Include> includes = EnumSet.allOf(Include.class);
+        try (Stream<Task> tasks = taskRepo.streamAll()) {
+            List<Task> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == STREAM_CHUNK_SIZE) {
+                    convertToTaskResponses(chunk, includes).forEach(sink);
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+            convertToTaskResponses(chunk, includes).forEach(sink);
+        }
+    }
+
+    @Transactional(readOnly = true)
     public List<TaskResponse> getTasksByProjectById(Long projectId) {
-        return taskRepo.findByProjectId(projectId).stream().map(this::convertToTaskResponse).collect(Collectors.toList());
+        return getTasksByProjectById(projectId, EnumSet.allOf(Include.class));
     }
 
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getTasksByProjectById(Long projectId, Set<Include> includes) {
+        return convertToTaskResponses(taskRepo.findByProjectId(projectId), includes);
+    }
+
+    @Transactional(readOnly = true)
     public List<TaskResponse> getTasksByEmployeeId(Long employeeId) {
-        return taskRepo.findByAssignedEmployeeId(employeeId).stream().map(this::convertToTaskResponse).collect(Collectors.toList());
+        return getTasksByEmployeeId(employeeId, EnumSet.allOf(Include.class));
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getTasksByEmployeeId(Long employeeId, Set<Include> includes) {
+        return convertToTaskResponses(taskRepo.findByAssignedEmployeeId(employeeId), includes);
     }
 
+    @Transactional
     public TaskResponse createTask(TaskCreate taskCreate, Long assignedByAdminId) {
         Task task = new Task();
         task.setTitle(taskCreate.title());
@@ -52,8 +127,7 @@ public class TaskService {
         task.setDueDate(taskCreate.dueDate());
         task.setCreatedAt(LocalDateTime.now());
 
-        Project project = projectRepo.findById(taskCreate.projectId())
-                .orElseThrow(() -> new RuntimeException("Project not found with id: " + taskCreate.projectId()));
+        Project project = findProjectForChildWrite(taskCreate.projectId());
         task.setProject(project);
 
         if (taskCreate.assignedEmployeeIds() != null && !taskCreate.assignedEmployeeIds().isEmpty()) {
@@ -65,12 +139,18 @@ public class TaskService {
                 .orElseThrow(() -> new RuntimeException("Admin not found with id: " + taskCreate.assignedByAdminId()));
         task.setAssignedByAdmin(assignedAdmin);
 
-        return convertToTaskResponse(taskRepo.save(task));
+        Task savedTask = taskRepo.save(task);
+        searchIndex.indexTask(savedTask);
+        projectStatsService.taskAdded(project.getId(), savedTask.getStatus(), savedTask.getPriority());
+        eventPublisher.publishEvent(ChangeEvent.task(ChangeEvent.Action.CREATED, savedTask.getId(), project.getId()));
+        return convertToTaskResponse(savedTask);
     }
 
+    @Transactional
     public TaskResponse updateTask(Long id, TaskUpdate taskUpdate) {
-        Task task = taskRepo.findById(id)
-                .orElseThrow(() -> new RuntimeException("Task not found with id " + id));
+        Task task = findTaskForUpdate(id);
+        findProjectForChildWrite(task.getProject().getId());
+        projectStatsService.taskRemoved(task.getProject().getId(), task.getStatus(), task.getPriority());
 
         if (taskUpdate.title() != null) task.setTitle(taskUpdate.title());
         if (taskUpdate.description() != null) task.setDescription(taskUpdate.description());
@@ -89,17 +169,165 @@ public class TaskService {
             task.setAssignedByAdmin(updatedByAdmin);
         }
 
-        return convertToTaskResponse(taskRepo.save(task));
+        Task savedTask = taskRepo.save(task);
+        searchIndex.indexTask(savedTask);
+        projectStatsService.taskAdded(task.getProject().getId(), savedTask.getStatus(), savedTask.getPriority());
+        eventPublisher.publishEvent(ChangeEvent.task(ChangeEvent.Action.UPDATED, id, task.getProject().getId()));
+        return convertToTaskResponse(savedTask);
     }
 
+    @Transactional
     public void deleteTask(Long id) {
-        taskRepo.delete(taskRepo.findById(id)
-                .orElseThrow(() -> new RuntimeException("Task not found with id: " + id)));
+        Task task = findTaskForUpdate(id);
+        findProjectForChildWrite(task.getProject().getId());
+        // the task's comments go with it
+        int comments = task.getComments() != null ? task.getComments().size() : 0;
+        taskRepo.delete(task);
+        searchIndex.removeTask(id);
+        projectStatsService.taskRemoved(task.getProject().getId(), task.getStatus(), task.getPriority());
+        projectStatsService.taskCommentsAdded(task.getProject().getId(), -comments);
+        eventPublisher.publishEvent(ChangeEvent.task(ChangeEvent.Action.DELETED, id, task.getProject().getId()));
+    }
+
+    // locked up front, so a comment bumping the version meanwhile cannot fail the versioned write
+    private Task findTaskForUpdate(Long id) {
+        Task task = entityManager.find(Task.class, id, LockModeType.PESSIMISTIC_WRITE);
+        if (task == null) {
+            throw new RuntimeException("Task not found with id: " + id);
+        }
+        return task;
+    }
+
+    // tasks are part of the project representation, so its version moves with them; the bump goes
+    // through the locked entity, which keeps the rest of the project cache region intact
+    private Project findProjectForChildWrite(Long id) {
+        Project project = entityManager.find(Project.class, id, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+        if (project == null) {
+            throw new RuntimeException("Project not found with id: " + id);
+        }
+        return project;
+    }
+
+    /**
+     * Applies one set of changes to many tasks with set-based UPDATEs instead
+     * of loading each task. The matching rows are locked first, then each
+     * chunk is one UPDATE on the tasks and one on their projects. Both bump
+     * versions, so ETags and optimistic locking see the change.
+     */
+    @Transactional
+    public TaskBulkResult bulkUpdateTasks(TaskBulkUpdate bulkUpdate) {
+        TaskBulkUpdate.Changes changes = bulkUpdate.set();
+        if (changes == null || (changes.status() == null && changes.priority() == null && changes.dueDate() == null)) {
+            throw new RuntimeException("Bulk update needs at least one field to set");
+        }
+
+        List<Object[]> matches = findBulkUpdateTargets(bulkUpdate);
+        List<Long> taskIds = matches.stream().map(row -> (Long) row[0]).collect(Collectors.toList());
+        Set<Long> projectIds = matches.stream().map(row -> (Long) row[1]).collect(Collectors.toSet());
+
+        StringBuilder update = new StringBuilder("UPDATE Task t SET t.version = t.version + 1");
+        if (changes.status() != null) update.append(", t.status = :status");
+        if (changes.priority() != null) update.append(", t.priority = :priority");
+        if (changes.dueDate() != null) update.append(", t.dueDate = :dueDate");
+        update.append(" WHERE t.id IN :ids");
+
+        int updated = 0;
+        for (int from = 0; from < taskIds.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = taskIds.subList(from, Math.min(from + BULK_CHUNK_SIZE, taskIds.size()));
+            Query query = entityManager.createQuery(update.toString()).setParameter("ids", chunk);
+            if (changes.status() != null) query.setParameter("status", changes.status());
+            if (changes.priority() != null) query.setParameter("priority", changes.priority());
+            if (changes.dueDate() != null) query.setParameter("dueDate", changes.dueDate());
+            updated += query.executeUpdate();
+        }
+
+        List<Long> projectIdList = new ArrayList<>(projectIds);
+        for (int from = 0; from < projectIdList.size(); from += BULK_CHUNK_SIZE) {
+            entityManager.createQuery("UPDATE Project p SET p.version = p.version + 1 WHERE p.id IN :ids")
+                    .setParameter("ids", projectIdList.subList(from, Math.min(from + BULK_CHUNK_SIZE, projectIdList.size())))
+                    .executeUpdate();
+        }
+        projectStatsService.markDirty(projectIds);
+        matches.forEach(row -> eventPublisher.publishEvent(
+                ChangeEvent.task(ChangeEvent.Action.UPDATED, (Long) row[0], (Long) row[1])));
+
+        List<TaskBulkResult.TaskVersion> versions = new ArrayList<>(taskIds.size());
+        for (int from = 0; from < taskIds.size(); from += BULK_CHUNK_SIZE) {
+            versions.addAll(entityManager.createQuery(
+                            "SELECT new com.example.Project_Management.model.dto.TaskBulkResult$TaskVersion(t.id, t.version) " +
+                                    "FROM Task t WHERE t.id IN :ids ORDER BY t.id", TaskBulkResult.TaskVersion.class)
+                    .setParameter("ids", taskIds.subList(from, Math.min(from + BULK_CHUNK_SIZE, taskIds.size())))
+                    .getResultList());
+        }
+        return new TaskBulkResult(updated, versions);
+    }
+
+    // ids and project ids of the tasks a bulk update targets, locked for the rest of the transaction
+    private List<Object[]> findBulkUpdateTargets(TaskBulkUpdate bulkUpdate) {
+        TaskBulkUpdate.Filter filter = bulkUpdate.filter();
+        boolean byIds = bulkUpdate.ids() != null && !bulkUpdate.ids().isEmpty();
+        boolean byFilter = filter != null
+                && (filter.projectId() != null || filter.status() != null || filter.priority() != null);
+        if (!byIds && !byFilter) {
+            throw new RuntimeException("Bulk update needs task ids or a filter");
+        }
+
+        StringBuilder select = new StringBuilder("SELECT t.id, t.project.id FROM Task t WHERE 1 = 1");
+        if (byIds) select.append(" AND t.id IN :ids");
+        if (byFilter && filter.projectId() != null) select.append(" AND t.project.id = :projectId");
+        if (byFilter && filter.status() != null) select.append(" AND t.status = :status");
+        if (byFilter && filter.priority() != null) select.append(" AND t.priority = :priority");
+        select.append(" ORDER BY t.id");
+
+        if (!byIds) {
+            return bulkUpdateTargetQuery(select.toString(), filter).getResultList();
+        }
+        // sorted chunks, so rows are still locked in id order across them
+        List<Long> ids = bulkUpdate.ids().stream().filter(Objects::nonNull).distinct().sorted().collect(Collectors.toList());
+        List<Object[]> matches = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            matches.addAll(bulkUpdateTargetQuery(select.toString(), byFilter ? filter : null)
+                    .setParameter("ids", ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size())))
+                    .getResultList());
+        }
+        return matches;
+    }
+
+    private TypedQuery<Object[]> bulkUpdateTargetQuery(String select, TaskBulkUpdate.Filter filter) {
+        TypedQuery<Object[]> query = entityManager.createQuery(select, Object[].class)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE);
+        if (filter != null && filter.projectId() != null) query.setParameter("projectId", filter.projectId());
+        if (filter != null && filter.status() != null) query.setParameter("status", filter.status());
+        if (filter != null && filter.priority() != null) query.setParameter("priority", filter.priority());
+        return query;
+    }
+
+    /**
+     * Loads only the associations named in {@code includes}, one query each,
+     * before converting. Must run inside a transaction.
+     */
+    private List<TaskResponse> convertToTaskResponses(List<Task> tasks, Set<Include> includes) {
+        if (tasks.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> taskIds = tasks.stream().map(Task::getId).collect(Collectors.toList());
+        if (includes.contains(Include.EMPLOYEES)) taskRepo.fetchAssignees(taskIds);
+        if (includes.contains(Include.COMMENTS)) taskRepo.fetchComments(taskIds);
+
+        return tasks.stream()
+                .map(task -> convertToTaskResponse(task, includes))
+                .collect(Collectors.toList());
     }
 
     private TaskResponse convertToTaskResponse(Task task) {
-        List<TaskCommentResponse> commentResponses = new ArrayList<>();
-        if (task.getComments() != null) {
+        return convertToTaskResponse(task, EnumSet.allOf(Include.class));
+    }
+
+    private TaskResponse convertToTaskResponse(Task task, Set<Include> includes) {
+        boolean withEmployees = includes.contains(Include.EMPLOYEES);
+        List<TaskCommentResponse> commentResponses = includes.contains(Include.COMMENTS) ? new ArrayList<>() : null;
+        if (commentResponses != null && task.getComments() != null) {
             for (TaskComment comment : task.getComments()) {
                 commentResponses.add(new TaskCommentResponse(
                         comment.getId(),
@@ -111,7 +339,8 @@ public class TaskService {
             }
         }
 
-        List<String> employeeNames = task.getAssignedEmployees() != null
+        List<String> employeeNames = !withEmployees ? null
+                : task.getAssignedEmployees() != null
                 ? task.getAssignedEmployees().stream().map(User::getName).collect(Collectors.toList())
                 : new ArrayList<>();
 
@@ -124,7 +353,7 @@ public class TaskService {
                 task.getDueDate(),
                 task.getProject() != null ? task.getProject().getName() : null,
                 employeeNames,
-                task.getAssignedByAdmin() != null ? task.getAssignedByAdmin().getName() : null,
+                withEmployees && task.getAssignedByAdmin() != null ? task.getAssignedByAdmin().getName() : null,
                 commentResponses,
                 task.getCreatedAt()
         );
@@ -0,0 +1,86 @@
+package com.example.Project_Management.service;
+
+import com.example.Project_Management.model.dto.UserTokenVersion;
+import com.example.Project_Management.repo.UserRepo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory copy of every user's token version, used in stateless mode to
+ * reject tokens issued before a password change, role change or deletion
+ * without touching the database on each request.
+ *
+ * Local changes are applied immediately by UserService; the periodic refresh
+ * picks up changes made by other instances.
+ */
+@Service
+public class TokenVersionRegistry {
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
+
+    private volatile Map<Long, Integer> versions;
+
+    public boolean isCurrent(Long userId, Integer tokenVersion) {
+        if (userId == null || tokenVersion == null) {
+            return false;
+        }
+        Map<Long, Integer> snapshot = versions;
+        if (snapshot == null) {
+            refresh();
+            snapshot = versions;
+        }
+        Integer current = snapshot.get(userId);
+        return current != null && current.equals(tokenVersion);
+    }
+
+    public synchronized void update(Long userId, int tokenVersion) {
+        if (versions == null) {
+            return;
+        }
+        Map<Long, Integer> copy = new HashMap<>(versions);
+        copy.put(userId, tokenVersion);
+        versions = copy;
+    }
+
+    public synchronized void remove(Long userId) {
+        if (versions == null) {
+            return;
+        }
+        Map<Long, Integer> copy = new HashMap<>(versions);
+        copy.remove(userId);
+        versions = copy;
+    }
+
+    // for bulk changes made outside UserService, e.g. an import
+    public synchronized void reload() {
+        if (versions != null) {
+            refresh();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.stateless.refresh-ms:30000}")
+    public void scheduledRefresh() {
+        if (stateless) {
+            refresh();
+        }
+    }
+
+    private synchronized void refresh() {
+        List<UserTokenVersion> rows = userRepo.findAllTokenVersions();
+        Map<Long, Integer> fresh = new HashMap<>(rows.size() * 2);
+        for (UserTokenVersion row : rows) {
+            fresh.put(row.userId(), row.tokenVersion());
+        }
+        versions = fresh;
+    }
+}
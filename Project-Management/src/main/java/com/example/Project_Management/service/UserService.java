@@ -1,25 +1,70 @@
 package com.example.Project_Management.service;
 
 import com.example.Project_Management.model.User;
+import com.example.Project_Management.model.dto.ChangeEvent;
 import com.example.Project_Management.model.dto.UserCreate;
 import com.example.Project_Management.model.dto.UserRegister;
 import com.example.Project_Management.model.dto.UserResponse;
 import com.example.Project_Management.model.dto.UserUpdate;
 import com.example.Project_Management.repo.UserRepo;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.bcrypt.BCrypt;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import java.util.stream.Collectors;
 
 @Service
 public class UserService {
 
+    private static final int MAX_SUGGESTIONS = 50;
+
     @Autowired
     private UserRepo userRepo;
-    private BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(12);
+
+    @Autowired
+    private MyUserDetailsService userDetailsService;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private ProjectResponseCache projectResponseCache;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PasswordEncoder encoder;
+
+    @Autowired
+    private UserSuggestIndex userSuggestIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Typeahead for assignee and colleague pickers. With a projectId only
+     * that project's members are suggested.
+     */
+    public List<UserResponse> suggestUsers(String prefix, int limit, Long projectId) {
+        Set<Long> allowedIds = projectId != null ? new HashSet<>(userRepo.findMemberIdsByProjectId(projectId)) : null;
+        return userSuggestIndex.suggest(prefix, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)), allowedIds);
+    }
+
+    public String getUsersETag(){
+        return "users-" + userRepo.findVersionStamp().tag();
+    }
 
     public List<UserResponse> getAllUsers(){
         return userRepo.findAll().stream()
@@ -27,6 +72,20 @@ public class UserService {
                 .collect(Collectors.toList());
     }
 
+    // emits users one by one with a JDBC fetch size, clearing the persistence context as it goes
+    @Transactional(readOnly = true)
+    public void streamAllUsers(Consumer<UserResponse> sink){
+        try (Stream<User> users = userRepo.streamAll()) {
+            Iterator<User> iterator = users.iterator();
+            for (int count = 1; iterator.hasNext(); count++) {
+                sink.accept(convertToUserResponse(iterator.next()));
+                if (count % 500 == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
     public UserResponse getUserByUsername(String username){
         User user = userRepo.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found with username: " + username));
@@ -67,6 +126,10 @@ public class UserService {
         user.setRole(userCreate.role());
 
         User savedUser = userRepo.save(user);
+        userSuggestIndex.put(savedUser);
+        // stateless mode rejects ids the registry has not seen yet
+        tokenVersionRegistry.update(savedUser.getId(), savedUser.getTokenVersion());
+        eventPublisher.publishEvent(ChangeEvent.user(ChangeEvent.Action.CREATED, savedUser.getId()));
         return convertToUserResponse(savedUser);
     }
 
@@ -98,11 +161,18 @@ public class UserService {
             user.setPosition(userUpdate.department());
         }
 
-        if(userUpdate.role()!=null){
+        if(userUpdate.role()!=null && !userUpdate.role().equals(user.getRole())){
             user.setRole(userUpdate.role());
+            user.setTokenVersion(user.getTokenVersion() + 1);
         }
 
         User savedUser = userRepo.save(user);
+        userSuggestIndex.put(savedUser);
+        userDetailsService.evict(savedUser.getUsername());
+        tokenVersionRegistry.update(savedUser.getId(), savedUser.getTokenVersion());
+        // project responses embed user names
+        projectResponseCache.invalidateAll();
+        eventPublisher.publishEvent(ChangeEvent.user(ChangeEvent.Action.UPDATED, savedUser.getId()));
 
         return convertToUserResponse(savedUser);
     }
@@ -112,6 +182,11 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found with id " + id));
 
         userRepo.delete(user);
+        userDetailsService.evict(user.getUsername());
+        tokenVersionRegistry.remove(user.getId());
+        userSuggestIndex.remove(user.getId());
+        projectResponseCache.invalidateAll();
+        eventPublisher.publishEvent(ChangeEvent.user(ChangeEvent.Action.DELETED, user.getId()));
     }
 
     public void updatePassword(Long id, String newPassword){
@@ -119,7 +194,10 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found with id " + id));
 
         user.setPassword(newPassword);
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepo.save(user);
+        userDetailsService.evict(user.getUsername());
+        tokenVersionRegistry.update(user.getId(), user.getTokenVersion());
     }
 
     public UserResponse registerUser(UserRegister register){
@@ -136,6 +214,10 @@ public class UserService {
         user.setRole("EMPLOYEE"); // Default role
 
         User savedUser = userRepo.save(user);
+        userSuggestIndex.put(savedUser);
+        // stateless mode rejects ids the registry has not seen yet
+        tokenVersionRegistry.update(savedUser.getId(), savedUser.getTokenVersion());
+        eventPublisher.publishEvent(ChangeEvent.user(ChangeEvent.Action.CREATED, savedUser.getId()));
         return convertToUserResponse(savedUser);
 
     }
@@ -158,6 +240,10 @@ public class UserService {
         user.setRole(userCreate.role());
 
         User savedUser = userRepo.save(user);
+        userSuggestIndex.put(savedUser);
+        // stateless mode rejects ids the registry has not seen yet
+        tokenVersionRegistry.update(savedUser.getId(), savedUser.getTokenVersion());
+        eventPublisher.publishEvent(ChangeEvent.user(ChangeEvent.Action.CREATED, savedUser.getId()));
 
         return convertToUserResponse(savedUser);
     }
@@ -180,4 +266,10 @@ public class UserService {
                 .map(this::convertToUserResponse)
                 .collect(Collectors.toList());
     }
+
+    public List<UserResponse> getColleaguesByProjectId(Long projectId, Long userId) {
+        return userRepo.findColleaguesByProjectIdExcludingUser(projectId, userId).stream()
+                .map(this::convertToUserResponse)
+                .collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,255 @@
+package com.example.Project_Management.service;
+
+import com.example.Project_Management.model.User;
+import com.example.Project_Management.model.dto.UserResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Typeahead over users, held as a compressed (radix) trie. Each user is
+ * reachable from their full name, every later word of the name, username,
+ * email and department, all folded to lower case without accents.
+ *
+ * A lookup walks down to the prefix and then visits the subtree in key
+ * order, stopping at the first {@code limit} distinct users, so the cost
+ * depends on the prefix length and limit rather than on the user count.
+ */
+@Service
+public class UserSuggestIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(UserSuggestIndex.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final class Node {
+        String label;
+        final TreeMap<Character, Node> children = new TreeMap<>();
+        final Set<Long> userIds = new LinkedHashSet<>();
+
+        Node(String label) {
+            this.label = label;
+        }
+    }
+
+    private record Entry(UserResponse user, List<String> keys) {
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private Node root = new Node("");
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            root = new Node("");
+            jdbcTemplate.query("select id, name, age, email, username, position, department, role from users",
+                    (RowCallbackHandler) rs -> add(new UserResponse(rs.getLong("id"), rs.getString("name"),
+                            rs.getInt("age"), rs.getString("email"), rs.getString("username"),
+                            rs.getString("position"), rs.getString("department"), rs.getString("role"))));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("User suggest index built with {} users", entries.size());
+    }
+
+    /**
+     * Up to {@code limit} users with a key starting with {@code prefix}, in key
+     * order. {@code allowedIds} restricts the result; null means everyone.
+     */
+    public List<UserResponse> suggest(String prefix, int limit, Set<Long> allowedIds) {
+        String key = SearchIndex.fold(prefix.trim());
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        Predicate<Long> allowed = allowedIds == null ? id -> true : allowedIds::contains;
+
+        lock.readLock().lock();
+        try {
+            Node start = find(key);
+            if (start == null) {
+                return List.of();
+            }
+            Set<Long> found = new LinkedHashSet<>();
+            Deque<Node> stack = new ArrayDeque<>();
+            stack.push(start);
+            while (!stack.isEmpty() && found.size() < limit) {
+                Node node = stack.pop();
+                for (Long userId : node.userIds) {
+                    if (found.size() < limit && allowed.test(userId)) {
+                        found.add(userId);
+                    }
+                }
+                node.children.descendingMap().values().forEach(stack::push);
+            }
+            return found.stream().map(id -> entries.get(id).user()).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(User user) {
+        UserResponse response = new UserResponse(user.getId(), user.getName(), user.getAge(), user.getEmail(),
+                user.getUsername(), user.getPosition(), user.getDepartment(), user.getRole());
+        lock.writeLock().lock();
+        try {
+            removeEntry(user.getId());
+            add(response);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long userId) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // caller holds the write lock
+    private void add(UserResponse user) {
+        List<String> keys = new ArrayList<>();
+        addKey(keys, user.name());
+        if (user.name() != null) {
+            String[] words = user.name().trim().split("\\s+");
+            for (int i = 1; i < words.length; i++) {
+                addKey(keys, words[i]);
+            }
+        }
+        addKey(keys, user.username());
+        addKey(keys, user.email());
+        addKey(keys, user.department());
+
+        entries.put(user.id(), new Entry(user, keys));
+        keys.forEach(key -> insert(key, user.id()));
+    }
+
+    private static void addKey(List<String> keys, String value) {
+        if (value != null && !value.isBlank()) {
+            String key = SearchIndex.fold(value.trim());
+            if (!keys.contains(key)) {
+                keys.add(key);
+            }
+        }
+    }
+
+    // caller holds the write lock
+    private void removeEntry(Long userId) {
+        Entry entry = entries.remove(userId);
+        if (entry != null) {
+            entry.keys().forEach(key -> delete(key, userId));
+        }
+    }
+
+    private void insert(String key, Long userId) {
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            Node child = node.children.get(key.charAt(position));
+            if (child == null) {
+                child = new Node(key.substring(position));
+                node.children.put(key.charAt(position), child);
+                child.userIds.add(userId);
+                return;
+            }
+            int common = commonPrefixLength(child.label, key, position);
+            if (common < child.label.length()) {
+                Node split = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                split.children.put(child.label.charAt(0), child);
+                node.children.put(split.label.charAt(0), split);
+                child = split;
+            }
+            node = child;
+            position += common;
+        }
+        node.userIds.add(userId);
+    }
+
+    private void delete(String key, Long userId) {
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            Node child = node.children.get(key.charAt(position));
+            if (child == null || !key.startsWith(child.label, position)) {
+                return;
+            }
+            path.push(node);
+            node = child;
+            position += child.label.length();
+        }
+        node.userIds.remove(userId);
+
+        // prune empty leaves and merge pass-through nodes back into their child
+        while (!path.isEmpty() && node.userIds.isEmpty()) {
+            Node parent = path.pop();
+            if (node.children.isEmpty()) {
+                parent.children.remove(node.label.charAt(0));
+            } else if (node.children.size() == 1) {
+                Node only = node.children.firstEntry().getValue();
+                only.label = node.label + only.label;
+                parent.children.put(only.label.charAt(0), only);
+                break;
+            } else {
+                break;
+            }
+            node = parent;
+        }
+    }
+
+    // the node whose subtree holds every key starting with prefix
+    private Node find(String prefix) {
+        Node node = root;
+        int position = 0;
+        while (position < prefix.length()) {
+            Node child = node.children.get(prefix.charAt(position));
+            if (child == null) {
+                return null;
+            }
+            int remaining = prefix.length() - position;
+            if (remaining <= child.label.length()) {
+                return child.label.startsWith(prefix.substring(position)) ? child : null;
+            }
+            if (!prefix.startsWith(child.label, position)) {
+                return null;
+            }
+            node = child;
+            position += child.label.length();
+        }
+        return node;
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int length = 0;
+        while (length < label.length() && offset + length < key.length()
+                && label.charAt(length) == key.charAt(offset + length)) {
+            length++;
+        }
+        return length;
+    }
+}
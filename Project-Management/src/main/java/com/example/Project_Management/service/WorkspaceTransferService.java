@@ -0,0 +1,352 @@
+package com.example.Project_Management.service;
+
+import com.example.Project_Management.config.SequenceInitializer;
+import com.example.Project_Management.model.dto.ImportReport;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * NDJSON dump and restore of the whole workspace over plain JDBC, so neither
+ * direction holds more than one row (plus one insert batch) in memory.
+ *
+ * Each line is one row tagged with its "type". Sections are written in
+ * dependency order and must be imported in that order. Imported rows get
+ * fresh ids from the entities' own sequences, so they never collide with rows
+ * written concurrently through Hibernate, and references are remapped to
+ * them; users that already exist are matched by username instead of being
+ * duplicated.
+ */
+@Service
+public class WorkspaceTransferService {
+
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private SequenceInitializer sequenceInitializer;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private UserSuggestIndex userSuggestIndex;
+
+    @Autowired
+    private ProjectStatsService projectStatsService;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.import.batch-size:500}")
+    private int batchSize;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private enum Section {
+        USERS("user", "users", "id",
+                List.of("id", "name", "username", "age", "email", "password", "position", "department", "role"),
+                Map.of()),
+        PROJECTS("project", "projects", "id",
+                List.of("id", "name", "description", "status", "start_date", "end_date", "created_by_admin_id", "created_at"),
+                Map.of("created_by_admin_id", USERS)),
+        PROJECT_MEMBERS("project_member", "project_users", "project_id, user_id",
+                List.of("project_id", "user_id"),
+                Map.of("project_id", PROJECTS, "user_id", USERS)),
+        TASKS("task", "tasks", "id",
+                List.of("id", "title", "description", "due_date", "priority", "status", "project_id", "assigned_by_admin_id", "created_at"),
+                Map.of("project_id", PROJECTS, "assigned_by_admin_id", USERS)),
+        TASK_MEMBERS("task_member", "task_users", "task_id, user_id",
+                List.of("task_id", "user_id"),
+                Map.of("task_id", TASKS, "user_id", USERS)),
+        PROJECT_COMMENTS("project_comment", "project_comments", "id",
+                List.of("id", "content", "project_id", "user_id", "created_at", "updated_at"),
+                Map.of("project_id", PROJECTS, "user_id", USERS)),
+        TASK_COMMENTS("task_comment", "task_comments", "id",
+                List.of("id", "content", "task_id", "user_id", "created_at", "updated_at"),
+                Map.of("task_id", TASKS, "user_id", USERS));
+
+        final String type;
+        final String table;
+        final String orderBy;
+        final List<String> columns;
+        final Map<String, Section> references;
+
+        Section(String type, String table, String orderBy, List<String> columns, Map<String, Section> references) {
+            this.type = type;
+            this.table = table;
+            this.orderBy = orderBy;
+            this.columns = columns;
+            this.references = references;
+        }
+
+        String sequence() {
+            return table + "_seq";
+        }
+
+        boolean hasId() {
+            return columns.get(0).equals("id");
+        }
+
+        String selectSql() {
+            return "select " + String.join(", ", columns) + " from " + table + " order by " + orderBy;
+        }
+
+        String insertSql() {
+            return "insert into " + table + " (" + String.join(", ", columns) + ") values ("
+                    + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        }
+
+        static Section ofType(String type) {
+            for (Section section : values()) {
+                if (section.type.equals(type)) {
+                    return section;
+                }
+            }
+            throw new RuntimeException("Unknown row type: " + type);
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(EXPORT_FETCH_SIZE);
+    }
+
+    public void exportWorkspace(OutputStream out) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        // one snapshot for every section, so memberships never point at rows missing from the dump
+        transaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        transaction.executeWithoutResult(status -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                for (Section section : Section.values()) {
+                    jdbcTemplate.query(section.selectSql(), (RowCallbackHandler) rs -> writeRow(generator, section, rs));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public ImportReport importWorkspace(InputStream in) {
+        long started = System.nanoTime();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Importer importer = transaction.execute(status -> {
+            Importer running = new Importer();
+            try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+                JsonToken token;
+                while ((token = parser.nextToken()) != null) {
+                    if (token != JsonToken.START_OBJECT) {
+                        throw new RuntimeException("Expected one JSON object per line but found " + token);
+                    }
+                    running.accept(parser.readValueAsTree());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            running.finish();
+            return running;
+        });
+
+        // the rows went in behind Hibernate's back
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        tokenVersionRegistry.reload();
+        searchIndex.rebuild();
+        userSuggestIndex.rebuild();
+        projectStatsService.reconcile();
+        changeLogService.requireResync();
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        return new ImportReport(importer.inserted, importer.matchedUsers, importer.rows, elapsedMillis,
+                importer.rows * 1000.0 / elapsedMillis);
+    }
+
+    private static void writeRow(JsonGenerator generator, Section section, ResultSet rs) throws SQLException {
+        try {
+            generator.writeStartObject();
+            generator.writeStringField("type", section.type);
+            for (String column : section.columns) {
+                Object value = rs.getObject(column);
+                if (value instanceof Timestamp timestamp) {
+                    value = timestamp.toLocalDateTime().toString();
+                }
+                generator.writeObjectField(column, value);
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * State of one running import. Only the old-to-new id maps grow with the
+     * input; rows themselves are written out a batch at a time.
+     */
+    private class Importer {
+
+        final Map<Section, Map<Long, Long>> ids = new EnumMap<>(Section.class);
+        final Map<Section, long[]> idBlocks = new EnumMap<>(Section.class);
+        final Map<String, Long> usernames = new HashMap<>();
+        final Map<String, Long> inserted = new LinkedHashMap<>();
+        final List<Object[]> batch = new ArrayList<>(batchSize);
+        Section current;
+        long matchedUsers;
+        long rows;
+
+        Importer() {
+            for (Section section : Section.values()) {
+                if (section.hasId()) {
+                    ids.put(section, new HashMap<>());
+                }
+            }
+            jdbcTemplate.query("select id, username from users",
+                    (RowCallbackHandler) rs -> usernames.put(rs.getString("username"), rs.getLong("id")));
+        }
+
+        void accept(JsonNode node) {
+            Section section = Section.ofType(node.path("type").asText());
+            if (current != null && section.ordinal() < current.ordinal()) {
+                throw new RuntimeException("Row type " + section.type + " found after " + current.type
+                        + "; rows must be in export order");
+            }
+            if (section != current) {
+                flush();
+                current = section;
+            }
+            rows++;
+
+            if (section == Section.USERS) {
+                Long existing = usernames.get(node.path("username").asText());
+                if (existing != null) {
+                    ids.get(Section.USERS).put(requiredId(node), existing);
+                    matchedUsers++;
+                    return;
+                }
+            }
+
+            Object[] row = new Object[section.columns.size()];
+            for (int i = 0; i < row.length; i++) {
+                String column = section.columns.get(i);
+                if (i == 0 && section.hasId()) {
+                    long id = nextId(section);
+                    ids.get(section).put(requiredId(node), id);
+                    row[i] = id;
+                } else if (section.references.containsKey(column)) {
+                    row[i] = resolve(section.references.get(column), node.get(column));
+                } else {
+                    row[i] = value(column, node.get(column));
+                }
+            }
+            if (section == Section.USERS) {
+                usernames.put(node.path("username").asText(), (Long) row[0]);
+            }
+
+            batch.add(row);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void finish() {
+            flush();
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.batchUpdate(current.insertSql(), batch);
+            inserted.merge(current.type, (long) batch.size(), Long::sum);
+            batch.clear();
+        }
+
+        // takes ids a pooled block at a time, exactly like Hibernate does
+        private long nextId(Section section) {
+            long[] block = idBlocks.get(section);
+            if (block == null || block[0] > block[1]) {
+                long value = jdbcTemplate.queryForObject(sequenceInitializer.nextValueSql(section.sequence()), Long.class);
+                block = new long[]{value - SequenceInitializer.ALLOCATION_SIZE + 1, value};
+                idBlocks.put(section, block);
+            }
+            return block[0]++;
+        }
+
+        private Long resolve(Section target, JsonNode reference) {
+            if (reference == null || reference.isNull()) {
+                return null;
+            }
+            Long id = ids.get(target).get(reference.asLong());
+            if (id == null) {
+                throw new RuntimeException(StringUtils.capitalize(target.type) + " not found with id: " + reference.asLong());
+            }
+            return id;
+        }
+
+        private static long requiredId(JsonNode node) {
+            JsonNode id = node.get("id");
+            if (id == null || !id.canConvertToLong()) {
+                throw new RuntimeException("Row of type " + node.path("type").asText() + " has no id");
+            }
+            return id.asLong();
+        }
+
+        private static Object value(String column, JsonNode value) {
+            if (value == null || value.isNull()) {
+                return null;
+            }
+            if (column.endsWith("_at") || column.endsWith("_date")) {
+                return LocalDateTime.parse(value.asText());
+            }
+            return value.isNumber() ? value.numberValue() : value.asText();
+        }
+    }
+}
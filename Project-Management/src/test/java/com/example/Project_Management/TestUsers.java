@@ -0,0 +1,31 @@
+package com.example.Project_Management;
+
+import com.example.Project_Management.model.User;
+import com.example.Project_Management.repo.UserRepo;
+
+import java.util.UUID;
+
+/**
+ * Saves throwaway users for tests. Names are random so tests sharing the
+ * application context never collide on the unique username or email.
+ */
+public final class TestUsers {
+
+    private TestUsers() {
+    }
+
+    public static User create(UserRepo userRepo, String role) {
+        String name = UUID.randomUUID().toString();
+        User user = new User();
+        user.setName(name);
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("password");
+        user.setRole(role);
+        return userRepo.save(user);
+    }
+
+    public static User createAdmin(UserRepo userRepo) {
+        return create(userRepo, "ADMIN");
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.Project_Management.controller;
+
+import com.example.Project_Management.TestUsers;
+import com.example.Project_Management.model.Project;
+import com.example.Project_Management.model.User;
+import com.example.Project_Management.model.dto.ChangeEvent;
+import com.example.Project_Management.repo.ProjectRepo;
+import com.example.Project_Management.repo.UserRepo;
+import com.example.Project_Management.service.ChangeStreamService;
+import com.example.Project_Management.service.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest(properties = "app.events.buffer-size=4")
+@AutoConfigureMockMvc
+class ChangeStreamControllerTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ChangeStreamService changeStreamService;
+    @Autowired private JwtService jwtService;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private ProjectRepo projectRepo;
+    @Autowired private UserRepo userRepo;
+
+    @Test
+    void membersOnlySeeTheirProjectsUntilTheyAreRemoved() throws Exception {
+        User admin = TestUsers.createAdmin(userRepo);
+        User member = TestUsers.create(userRepo, "EMPLOYEE");
+        User colleague = TestUsers.create(userRepo, "EMPLOYEE");
+        Long shared = createProject(admin, List.of(member, colleague));
+        Long other = createProject(admin, List.of());
+
+        MockHttpServletResponse memberStream = open(member);
+        MockHttpServletResponse colleagueStream = open(colleague);
+
+        changeStreamService.onChange(ChangeEvent.task(ChangeEvent.Action.UPDATED, 910001L, other));
+        changeStreamService.onChange(ChangeEvent.task(ChangeEvent.Action.UPDATED, 910002L, shared));
+        awaitContains(memberStream, "910002");
+        assertFalse(memberStream.getContentAsString().contains("910001"));
+
+        changeStreamService.onChange(ChangeEvent.projectRemoved(shared, List.of(member.getId())));
+        changeStreamService.onChange(ChangeEvent.task(ChangeEvent.Action.UPDATED, 910003L, shared));
+        awaitContains(memberStream, "REMOVED");
+        awaitContains(colleagueStream, "910003");
+
+        // events reach a stream in order, so anything meant for the member is in by the time this is
+        changeStreamService.onChange(ChangeEvent.projectRemoved(other, List.of(member.getId())));
+        awaitContains(memberStream, "\"projectId\":" + other);
+        assertFalse(memberStream.getContentAsString().contains("910003"));
+        assertFalse(colleagueStream.getContentAsString().contains("REMOVED"));
+    }
+
+    @Test
+    void overflowingSubscriberIsToldToResync() throws Exception {
+        User admin = TestUsers.createAdmin(userRepo);
+        Long projectId = createProject(admin, List.of());
+        double resyncs = meterRegistry.counter("events.resyncs").count();
+
+        MockHttpServletResponse stream = open(admin);
+        // offering is far cheaper than sending, so a four-event queue cannot keep up
+        for (long id = 0; id < 10_000; id++) {
+            changeStreamService.onChange(ChangeEvent.task(ChangeEvent.Action.UPDATED, id, projectId));
+        }
+
+        awaitContains(stream, "event:resync");
+        assertTrue(meterRegistry.counter("events.resyncs").count() > resyncs);
+    }
+
+    private MockHttpServletResponse open(User user) throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/api/events")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken(user)))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+        // the subscription is live once its opening heartbeat is out
+        awaitContains(response, ":heartbeat");
+        return response;
+    }
+
+    private static void awaitContains(MockHttpServletResponse response, String text) throws Exception {
+        for (int i = 0; i < 100; i++) {
+            if (response.getContentAsString().contains(text)) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        fail("Stream never contained " + text + ": " + response.getContentAsString());
+    }
+
+    private Long createProject(User admin, List<User> members) {
+        Project project = new Project();
+        project.setName("Streamed");
+        project.setDescription("Description");
+        project.setCreatedByAdmin(admin);
+        project.setAssignedEmployees(members);
+        return projectRepo.save(project).getId();
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.Project_Management.controller;
+
+import com.example.Project_Management.service.TokenVersionRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "jwt.stateless=true")
+@AutoConfigureMockMvc
+class StatelessRegistrationTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private TokenVersionRegistry tokenVersionRegistry;
+
+    @Test
+    void registeredUserIsAuthorizedImmediately() throws Exception {
+        // loads the registry snapshot, as the first authenticated request in a running app would
+        tokenVersionRegistry.isCurrent(0L, 0);
+
+        String username = UUID.randomUUID().toString();
+        String credentials = objectMapper.writeValueAsString(new Credentials(username, username + "@example.com", "password"));
+        mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON).content(credentials))
+                .andExpect(status().isCreated());
+
+        String login = mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(credentials))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(login).path("token").asText();
+
+        mockMvc.perform(get("/api/projects/my-projects").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    private record Credentials(String username, String email, String password) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.Project_Management.service;
+
+import com.example.Project_Management.TestUsers;
+import com.example.Project_Management.model.User;
+import com.example.Project_Management.model.dto.ProjectCreate;
+import com.example.Project_Management.model.dto.TaskCreate;
+import com.example.Project_Management.repo.UserRepo;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round trips for creating a project with 200 tasks and 1,000 task
+ * assignments. Prepared statements are counted as the proxy for round trips:
+ * a JDBC batch is prepared once however many rows it carries.
+ */
+@SpringBootTest
+class AddProjectRoundTripTest {
+
+    private static final int TASKS = 200;
+
+    @Autowired private ProjectService projectService;
+    @Autowired private UserRepo userRepo;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void addProjectBatchesTaskAndAssignmentInserts() {
+        User admin = TestUsers.createAdmin(userRepo);
+        List<Long> employeeIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            employeeIds.add(TestUsers.create(userRepo, "EMPLOYEE").getId());
+        }
+
+        List<TaskCreate> tasks = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(new TaskCreate("Task " + i, "Description", "NOT_STARTED", "HIGH", null, null, employeeIds, null));
+        }
+        ProjectCreate create = new ProjectCreate("Batched", "Description", "NOT_STARTED", null, null,
+                employeeIds, admin.getId(), tasks, List.of("First", "Second"));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        projectService.addProject(create);
+        long statements = statistics.getPrepareStatementCount();
+
+        // 1,408 with identity ids and per-task lookups; now one lookup plus a few batches per table
+        assertTrue(statements < 30, "expected batched inserts but saw " + statements + " statements");
+    }
+}
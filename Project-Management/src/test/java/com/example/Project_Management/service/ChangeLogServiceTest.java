@@ -0,0 +1,144 @@
+package com.example.Project_Management.service;
+
+import com.example.Project_Management.TestUsers;
+import com.example.Project_Management.model.Project;
+import com.example.Project_Management.model.User;
+import com.example.Project_Management.model.UserPrincipal;
+import com.example.Project_Management.model.dto.ChangeEvent;
+import com.example.Project_Management.model.dto.ProjectCommentCreate;
+import com.example.Project_Management.model.dto.ProjectCommentResponse;
+import com.example.Project_Management.model.dto.ProjectUpdate;
+import com.example.Project_Management.model.dto.SyncChange;
+import com.example.Project_Management.model.dto.SyncPage;
+import com.example.Project_Management.model.dto.TaskCreate;
+import com.example.Project_Management.model.dto.TaskResponse;
+import com.example.Project_Management.model.dto.TaskUpdate;
+import com.example.Project_Management.model.dto.UserCreate;
+import com.example.Project_Management.model.dto.UserResponse;
+import com.example.Project_Management.model.dto.UserUpdate;
+import com.example.Project_Management.repo.ProjectRepo;
+import com.example.Project_Management.repo.UserRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ChangeLogServiceTest {
+
+    @Autowired private ChangeLogService changeLogService;
+    @Autowired private TaskService taskService;
+    @Autowired private ProjectService projectService;
+    @Autowired private ProjectCommentService projectCommentService;
+    @Autowired private UserService userService;
+    @Autowired private ProjectRepo projectRepo;
+    @Autowired private UserRepo userRepo;
+
+    @Test
+    void syncReturnsCompactedChangesAfterPosition() {
+        User admin = TestUsers.createAdmin(userRepo);
+        User outsider = TestUsers.create(userRepo, "EMPLOYEE");
+        Project project = new Project();
+        project.setName("Sync");
+        project.setDescription("Description");
+        project.setCreatedByAdmin(admin);
+        project = projectRepo.save(project);
+        Long projectId = project.getId();
+
+        long since = changeLogService.sync(new UserPrincipal(admin), Long.MAX_VALUE - 1, 10).next();
+
+        TaskResponse task = taskService.createTask(new TaskCreate("Task", null, "NOT_STARTED", null, null,
+                projectId, null, admin.getId()), admin.getId());
+        taskService.updateTask(task.id(), new TaskUpdate(null, null, "IN_PROGRESS", null, null, null, null));
+        ProjectCommentResponse comment = projectCommentService.createComment(
+                new ProjectCommentCreate("Gone soon", projectId, admin.getId()));
+        projectCommentService.deleteComment(comment.id());
+
+        SyncPage page = changeLogService.sync(new UserPrincipal(admin), since, 10);
+        assertFalse(page.resync());
+        assertEquals(1, page.changes().size());
+        SyncChange change = page.changes().get(0);
+        assertEquals(ChangeEvent.Type.TASK, change.type());
+        assertEquals(ChangeEvent.Action.CREATED, change.action());
+        assertEquals(task.id(), change.id());
+        assertEquals(since + 4, page.next());
+
+        SyncPage firstOnly = changeLogService.sync(new UserPrincipal(admin), since, 1);
+        assertTrue(firstOnly.hasMore());
+        assertEquals(since + 1, firstOnly.next());
+
+        assertEquals(List.of(), changeLogService.sync(new UserPrincipal(outsider), since, 10).changes());
+    }
+
+    @Test
+    void formerMembersLearnAboutRemovalAndDeletion() {
+        User admin = TestUsers.createAdmin(userRepo);
+        User staying = TestUsers.create(userRepo, "EMPLOYEE");
+        User leaving = TestUsers.create(userRepo, "EMPLOYEE");
+        Project project = new Project();
+        project.setName("Members");
+        project.setDescription("Description");
+        project.setCreatedByAdmin(admin);
+        project.setAssignedEmployees(List.of(staying, leaving));
+        project = projectRepo.save(project);
+        Long projectId = project.getId();
+
+        long since = changeLogService.sync(new UserPrincipal(admin), Long.MAX_VALUE - 1, 10).next();
+
+        projectService.updateProject(projectId, new ProjectUpdate(null, null, null, null, null,
+                List.of(staying.getId()), null, null));
+
+        SyncChange removed = single(changeLogService.sync(new UserPrincipal(leaving), since, 10));
+        assertEquals(ChangeEvent.Action.REMOVED, removed.action());
+        assertEquals(projectId, removed.id());
+        // only the users taken off the project are told
+        assertEquals(ChangeEvent.Action.UPDATED, single(changeLogService.sync(new UserPrincipal(staying), since, 10)).action());
+        assertEquals(ChangeEvent.Action.UPDATED, single(changeLogService.sync(new UserPrincipal(admin), since, 10)).action());
+
+        long beforeDelete = changeLogService.sync(new UserPrincipal(admin), since, 10).next();
+        projectService.deleteProject(projectId);
+
+        SyncChange deleted = single(changeLogService.sync(new UserPrincipal(staying), beforeDelete, 10));
+        assertEquals(ChangeEvent.Type.PROJECT, deleted.type());
+        assertEquals(ChangeEvent.Action.DELETED, deleted.action());
+        assertEquals(projectId, deleted.id());
+        assertEquals(List.of(), changeLogService.sync(new UserPrincipal(leaving), beforeDelete, 10).changes());
+    }
+
+    @Test
+    void userChangesReachEveryone() {
+        User admin = TestUsers.createAdmin(userRepo);
+        // a member of no project still shows users
+        User loner = TestUsers.create(userRepo, "EMPLOYEE");
+        long since = changeLogService.sync(new UserPrincipal(admin), Long.MAX_VALUE - 1, 10).next();
+
+        String name = UUID.randomUUID().toString();
+        UserResponse user = userService.createUser(new UserCreate(name, name, 30, name + "@example.com",
+                "password", null, null, "EMPLOYEE"));
+
+        SyncChange created = single(changeLogService.sync(new UserPrincipal(loner), since, 10));
+        assertEquals(ChangeEvent.Type.USER, created.type());
+        assertEquals(ChangeEvent.Action.CREATED, created.action());
+        assertEquals(user.id(), created.id());
+
+        long afterCreate = changeLogService.sync(new UserPrincipal(admin), since, 10).next();
+        userService.updateUser(user.id(), new UserUpdate("Renamed", null, null, null, null, null));
+        assertEquals(ChangeEvent.Action.UPDATED,
+                single(changeLogService.sync(new UserPrincipal(loner), afterCreate, 10)).action());
+
+        userService.deleteUser(user.id());
+        assertEquals(ChangeEvent.Action.DELETED,
+                single(changeLogService.sync(new UserPrincipal(admin), afterCreate, 10)).action());
+    }
+
+    private static SyncChange single(SyncPage page) {
+        assertEquals(1, page.changes().size(), page.changes().toString());
+        return page.changes().get(0);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.Project_Management.service;
+
+import com.example.Project_Management.TestUsers;
+import com.example.Project_Management.model.Project;
+import com.example.Project_Management.model.Task;
+import com.example.Project_Management.model.User;
+import com.example.Project_Management.model.dto.ProjectCommentCreate;
+import com.example.Project_Management.model.dto.TaskCommentCreate;
+import com.example.Project_Management.model.dto.TaskCreate;
+import com.example.Project_Management.repo.ProjectRepo;
+import com.example.Project_Management.repo.TaskRepo;
+import com.example.Project_Management.repo.UserRepo;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ConcurrentChildWriteTest {
+
+    private static final int WRITERS = 6;
+    private static final int ROUNDS = 5;
+
+    @Autowired private TaskService taskService;
+    @Autowired private TaskCommentService taskCommentService;
+    @Autowired private ProjectCommentService projectCommentService;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private ProjectRepo projectRepo;
+    @Autowired private TaskRepo taskRepo;
+    @Autowired private UserRepo userRepo;
+
+    @Test
+    void writesUnderTheSameProjectDoNotConflict() throws Exception {
+        User author = TestUsers.createAdmin(userRepo);
+        Project project = createProject("Busy", author);
+        Long projectId = project.getId();
+        long projectVersion = project.getVersion();
+
+        List<Long> taskIds = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setProject(project);
+            task.setAssignedByAdmin(author);
+            taskIds.add(taskRepo.save(task).getId());
+        }
+
+        // every writer comments on its own task, and the last one also creates tasks
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                Long taskId = taskIds.get(i);
+                boolean createsTasks = i == WRITERS - 1;
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < ROUNDS; round++) {
+                        if (createsTasks) {
+                            taskService.createTask(new TaskCreate("New", null, "NOT_STARTED", null, null,
+                                    projectId, null, author.getId()), author.getId());
+                        } else {
+                            taskCommentService.createComment(new TaskCommentCreate("Comment", taskId, author.getId()));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(projectVersion + WRITERS * ROUNDS, projectRepo.findVersionById(projectId).orElseThrow());
+        assertEquals(ROUNDS, taskRepo.findById(taskIds.get(0)).orElseThrow().getVersion());
+    }
+
+    @Test
+    void childWritesLeaveOtherCachedProjectsAlone() {
+        User author = TestUsers.createAdmin(userRepo);
+        Long written = createProject("Written", author).getId();
+        Long bystander = createProject("Bystander", author).getId();
+        projectRepo.findById(bystander);
+
+        projectCommentService.createComment(new ProjectCommentCreate("Comment", written, author.getId()));
+        taskService.createTask(new TaskCreate("New", null, "NOT_STARTED", null, null,
+                written, null, author.getId()), author.getId());
+
+        assertTrue(entityManagerFactory.getCache().contains(Project.class, bystander));
+        // whatever the cache now holds for the written project carries the bumped version
+        assertEquals(projectRepo.findVersionById(written).orElseThrow(),
+                projectRepo.findById(written).orElseThrow().getVersion());
+    }
+
+    private Project createProject(String name, User author) {
+        Project project = new Project();
+        project.setName(name);
+        project.setDescription("Description");
+        project.setCreatedByAdmin(author);
+        return projectRepo.save(project);
+    }
+}
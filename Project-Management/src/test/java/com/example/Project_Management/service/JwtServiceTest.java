@@ -0,0 +1,35 @@
+package com.example.Project_Management.service;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class JwtServiceTest {
+
+    @Autowired private JwtService jwtService;
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    @Test
+    void signedTokenWithoutExpirationIsRejected() {
+        String token = Jwts.builder()
+                .setSubject("someone")
+                .setIssuedAt(new Date())
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThrows(JwtException.class, () -> jwtService.verify(token));
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.Project_Management.service;
+
+import com.example.Project_Management.TestUsers;
+import com.example.Project_Management.model.Project;
+import com.example.Project_Management.model.ProjectComment;
+import com.example.Project_Management.model.Task;
+import com.example.Project_Management.model.TaskComment;
+import com.example.Project_Management.model.User;
+import com.example.Project_Management.model.dto.Include;
+import com.example.Project_Management.model.dto.MyWorkspaceResponse;
+import com.example.Project_Management.repo.ProjectCommentRepo;
+import com.example.Project_Management.repo.ProjectRepo;
+import com.example.Project_Management.repo.TaskCommentRepo;
+import com.example.Project_Management.repo.TaskRepo;
+import com.example.Project_Management.repo.UserRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// a single permit makes the four queries take turns, which must still come in well within the deadline
+@SpringBootTest(properties = "app.workspace.max-concurrent-queries=1")
+class MyWorkspaceServiceTest {
+
+    @Autowired private MyWorkspaceService myWorkspaceService;
+    @Autowired private ProjectRepo projectRepo;
+    @Autowired private TaskRepo taskRepo;
+    @Autowired private UserRepo userRepo;
+    @Autowired private TaskCommentRepo taskCommentRepo;
+    @Autowired private ProjectCommentRepo projectCommentRepo;
+
+    @Test
+    void workspaceCombinesTheFourQueries() {
+        User admin = TestUsers.createAdmin(userRepo);
+        User employee = TestUsers.create(userRepo, "EMPLOYEE");
+
+        Project project = new Project();
+        project.setName("Dashboard");
+        project.setDescription("Description");
+        project.setCreatedByAdmin(admin);
+        project.setAssignedEmployees(List.of(employee));
+        project = projectRepo.save(project);
+
+        Task task = new Task();
+        task.setTitle("Mine");
+        task.setProject(project);
+        task.setAssignedByAdmin(admin);
+        task.setAssignedEmployees(List.of(employee));
+        task = taskRepo.save(task);
+
+        TaskComment taskComment = new TaskComment();
+        taskComment.setContent("On the task");
+        taskComment.setTask(task);
+        taskComment.setAuthor(employee);
+        taskCommentRepo.save(taskComment);
+
+        for (int i = 0; i < 2; i++) {
+            ProjectComment comment = new ProjectComment();
+            comment.setContent("On the project");
+            comment.setProject(project);
+            comment.setAuthor(employee);
+            projectCommentRepo.save(comment);
+        }
+
+        MyWorkspaceResponse workspace = myWorkspaceService.getWorkspace(employee.getId(), EnumSet.allOf(Include.class));
+
+        assertEquals(1, workspace.projects().size());
+        assertEquals(1, workspace.tasks().size());
+        assertEquals(2, workspace.projectComments().size());
+        assertEquals(employee.getName(), workspace.taskComments().get(0).authorName());
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.Project_Management.service;
+
+import com.example.Project_Management.TestUsers;
+import com.example.Project_Management.model.Project;
+import com.example.Project_Management.model.ProjectComment;
+import com.example.Project_Management.model.User;
+import com.example.Project_Management.model.dto.CursorPage;
+import com.example.Project_Management.model.dto.FeedChanges;
+import com.example.Project_Management.model.dto.ProjectCommentCreate;
+import com.example.Project_Management.model.dto.ProjectCommentResponse;
+import com.example.Project_Management.model.dto.ProjectCommentUpdate;
+import com.example.Project_Management.repo.ProjectCommentRepo;
+import com.example.Project_Management.repo.ProjectRepo;
+import com.example.Project_Management.repo.UserRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class ProjectCommentFeedTest {
+
+    @Autowired private ProjectCommentService projectCommentService;
+    @Autowired private ProjectCommentRepo projectCommentRepo;
+    @Autowired private ProjectRepo projectRepo;
+    @Autowired private UserRepo userRepo;
+
+    @Test
+    void pollingFollowsCommitOrderAndReportsEditsAndDeletes() {
+        User admin = TestUsers.createAdmin(userRepo);
+        Long projectId = createProject(admin);
+        Long otherProjectId = createProject(admin);
+        ProjectCommentResponse first = comment(projectId, admin, "First");
+
+        CursorPage<ProjectCommentResponse> page = projectCommentService.getCommentFeed(projectId, null, 20);
+        assertEquals(List.of(first.id()), page.items().stream().map(ProjectCommentResponse::id).toList());
+
+        ProjectCommentResponse second = comment(projectId, admin, "Second");
+        ProjectCommentResponse late = comment(projectId, admin, "Late");
+        comment(otherProjectId, admin, "Elsewhere");
+        // stamped by an instance whose clock runs behind: it sorts before the first comment but committed last
+        ProjectComment skewed = projectCommentRepo.findById(late.id()).orElseThrow();
+        skewed.setCreatedAt(first.createdAt().minusMinutes(5));
+        projectCommentRepo.save(skewed);
+
+        FeedChanges<ProjectCommentResponse> changes =
+                projectCommentService.getCommentFeedChanges(projectId, page.since(), 20);
+        assertEquals(List.of(second.id(), late.id()), changes.items().stream().map(ProjectCommentResponse::id).toList());
+        assertEquals(List.of(), changes.deletedIds());
+
+        projectCommentService.updateComment(first.id(), new ProjectCommentUpdate("First, edited"));
+        projectCommentService.deleteComment(second.id());
+
+        FeedChanges<ProjectCommentResponse> edits =
+                projectCommentService.getCommentFeedChanges(projectId, changes.since(), 20);
+        assertEquals(List.of("First, edited"), edits.items().stream().map(ProjectCommentResponse::content).toList());
+        assertEquals(List.of(second.id()), edits.deletedIds());
+
+        FeedChanges<ProjectCommentResponse> quiet =
+                projectCommentService.getCommentFeedChanges(projectId, edits.since(), 20);
+        assertEquals(List.of(), quiet.items());
+        assertEquals(List.of(), quiet.deletedIds());
+        assertEquals(edits.since(), quiet.since());
+    }
+
+    private ProjectCommentResponse comment(Long projectId, User author, String content) {
+        return projectCommentService.createComment(new ProjectCommentCreate(content, projectId, author.getId()));
+    }
+
+    private Long createProject(User admin) {
+        Project project = new Project();
+        project.setName("Feed");
+        project.setDescription("Description");
+        project.setCreatedByAdmin(admin);
+        return projectRepo.save(project).getId();
+    }
+}
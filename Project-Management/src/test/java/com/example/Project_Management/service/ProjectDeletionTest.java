@@ -0,0 +1,110 @@
+package com.example.Project_Management.service;
+
+import com.example.Project_Management.TestUsers;
+import com.example.Project_Management.model.ChangeLogEntry;
+import com.example.Project_Management.model.Project;
+import com.example.Project_Management.model.ProjectComment;
+import com.example.Project_Management.model.Task;
+import com.example.Project_Management.model.TaskComment;
+import com.example.Project_Management.model.User;
+import com.example.Project_Management.model.dto.ChangeEvent;
+import com.example.Project_Management.model.dto.PurgeStatus;
+import com.example.Project_Management.repo.ChangeLogRepo;
+import com.example.Project_Management.repo.ProjectCommentRepo;
+import com.example.Project_Management.repo.ProjectRepo;
+import com.example.Project_Management.repo.TaskCommentRepo;
+import com.example.Project_Management.repo.TaskRepo;
+import com.example.Project_Management.repo.UserRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest(properties = "app.purge.chunk-size=2")
+class ProjectDeletionTest {
+
+    @Autowired private ProjectService projectService;
+    @Autowired private ProjectPurgeService projectPurgeService;
+    @Autowired private ProjectRepo projectRepo;
+    @Autowired private TaskRepo taskRepo;
+    @Autowired private UserRepo userRepo;
+    @Autowired private TaskCommentRepo taskCommentRepo;
+    @Autowired private ProjectCommentRepo projectCommentRepo;
+    @Autowired private ChangeLogRepo changeLogRepo;
+
+    @Test
+    void deleteProjectRemovesWholeGraph() {
+        Project project = createProject();
+
+        projectService.deleteProject(project.getId());
+
+        assertFalse(projectRepo.existsById(project.getId()));
+        assertEquals(0, taskRepo.countByProjectId(project.getId()));
+        assertEquals(0, projectCommentRepo.countByProjectId(project.getId()));
+    }
+
+    @Test
+    void purgeDeletesInChunksAndReportsProgress() throws InterruptedException {
+        Project project = createProject();
+
+        PurgeStatus status = projectPurgeService.startPurge(project.getId());
+        assertEquals(5, status.tasksTotal());
+        for (int i = 0; i < 100 && status.state().equals("RUNNING"); i++) {
+            Thread.sleep(50);
+            status = projectPurgeService.getPurgeStatus(project.getId());
+        }
+
+        assertEquals("COMPLETED", status.state());
+        assertEquals(5, status.tasksDeleted());
+        assertEquals(3, status.projectCommentsDeleted());
+        assertFalse(projectRepo.existsById(project.getId()));
+
+        // each chunk reported its own deletions, not just the final project row
+        List<ChangeEvent.Type> deleted = changeLogRepo.findAll().stream()
+                .filter(entry -> project.getId().equals(entry.getProjectId()))
+                .filter(entry -> entry.getAction() == ChangeEvent.Action.DELETED)
+                .map(ChangeLogEntry::getType)
+                .toList();
+        assertEquals(5, deleted.stream().filter(type -> type == ChangeEvent.Type.TASK).count());
+        assertEquals(3, deleted.stream().filter(type -> type == ChangeEvent.Type.PROJECT_COMMENT).count());
+    }
+
+    private Project createProject() {
+        User admin = TestUsers.createAdmin(userRepo);
+        User employee = TestUsers.create(userRepo, "EMPLOYEE");
+
+        Project project = new Project();
+        project.setName("Doomed");
+        project.setDescription("Description");
+        project.setCreatedByAdmin(admin);
+        project.setAssignedEmployees(List.of(employee));
+        project = projectRepo.save(project);
+
+        for (int i = 0; i < 5; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setProject(project);
+            task.setAssignedByAdmin(admin);
+            task.setAssignedEmployees(List.of(employee));
+            task = taskRepo.save(task);
+
+            TaskComment comment = new TaskComment();
+            comment.setContent("Task comment");
+            comment.setTask(task);
+            comment.setAuthor(employee);
+            taskCommentRepo.save(comment);
+        }
+        for (int i = 0; i < 3; i++) {
+            ProjectComment comment = new ProjectComment();
+            comment.setContent("Project comment");
+            comment.setProject(project);
+            comment.setAuthor(employee);
+            projectCommentRepo.save(comment);
+        }
+        return project;
+    }
+}
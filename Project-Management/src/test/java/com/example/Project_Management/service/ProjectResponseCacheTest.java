@@ -0,0 +1,40 @@
+package com.example.Project_Management.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class ProjectResponseCacheTest {
+
+    @Autowired private ProjectResponseCache projectResponseCache;
+    @Autowired private MeterRegistry meterRegistry;
+
+    @Test
+    void lookupsAreCountedAsHitsAndMisses() {
+        double hits = gets("hit");
+        double misses = gets("miss");
+        AtomicInteger builds = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            projectResponseCache.get(-1L, "\"stats-test\"", () -> {
+                builds.incrementAndGet();
+                return null;
+            });
+        }
+
+        assertEquals(1, builds.get());
+        assertEquals(misses + 1, gets("miss"));
+        assertEquals(hits + 2, gets("hit"));
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "projectResponses").tag("result", result)
+                .functionCounter().count();
+    }
+}
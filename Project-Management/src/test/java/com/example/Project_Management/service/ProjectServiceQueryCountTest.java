@@ -0,0 +1,98 @@
+package com.example.Project_Management.service;
+
+import com.example.Project_Management.TestUsers;
+import com.example.Project_Management.model.Project;
+import com.example.Project_Management.model.ProjectComment;
+import com.example.Project_Management.model.Task;
+import com.example.Project_Management.model.TaskComment;
+import com.example.Project_Management.model.User;
+import com.example.Project_Management.model.dto.ProjectResponse;
+import com.example.Project_Management.repo.ProjectCommentRepo;
+import com.example.Project_Management.repo.ProjectRepo;
+import com.example.Project_Management.repo.TaskCommentRepo;
+import com.example.Project_Management.repo.TaskRepo;
+import com.example.Project_Management.repo.UserRepo;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class ProjectServiceQueryCountTest {
+
+    @Autowired private ProjectService projectService;
+    @Autowired private ProjectRepo projectRepo;
+    @Autowired private TaskRepo taskRepo;
+    @Autowired private UserRepo userRepo;
+    @Autowired private ProjectCommentRepo projectCommentRepo;
+    @Autowired private TaskCommentRepo taskCommentRepo;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void loadingAllProjectsUsesConstantNumberOfStatements() {
+        User admin = TestUsers.createAdmin(userRepo);
+        List<User> employees = List.of(TestUsers.create(userRepo, "EMPLOYEE"), TestUsers.create(userRepo, "EMPLOYEE"));
+
+        createProjects(2, admin, employees);
+        long fewProjects = countStatements();
+
+        createProjects(10, admin, employees);
+        long manyProjects = countStatements();
+
+        assertEquals(fewProjects, manyProjects);
+    }
+
+    private long countStatements() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<ProjectResponse> projects = projectService.getAllProjectResponses();
+        projects.forEach(p -> p.tasks().forEach(t -> t.comments().size()));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createProjects(int count, User admin, List<User> employees) {
+        for (int i = 0; i < count; i++) {
+            Project project = new Project();
+            project.setName("Project " + i);
+            project.setDescription("Description");
+            project.setStatus("IN_PROGRESS");
+            project.setCreatedByAdmin(admin);
+            project.setAssignedEmployees(employees);
+            project = projectRepo.save(project);
+
+            for (int j = 0; j < 3; j++) {
+                Task task = new Task();
+                task.setTitle("Task " + j);
+                task.setStatus("NOT_STARTED");
+                task.setPriority("HIGH");
+                task.setProject(project);
+                task.setAssignedByAdmin(admin);
+                task.setAssignedEmployees(employees);
+                task = taskRepo.save(task);
+
+                for (User author : employees) {
+                    TaskComment comment = new TaskComment();
+                    comment.setContent("Task comment");
+                    comment.setTask(task);
+                    comment.setAuthor(author);
+                    taskCommentRepo.save(comment);
+                }
+            }
+
+            for (User author : employees) {
+                ProjectComment comment = new ProjectComment();
+                comment.setContent("Project comment");
+                comment.setProject(project);
+                comment.setAuthor(author);
+                projectCommentRepo.save(comment);
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.Project_Management.service;
+
+import com.example.Project_Management.TestUsers;
+import com.example.Project_Management.model.Project;
+import com.example.Project_Management.model.User;
+import com.example.Project_Management.model.dto.ProjectCommentCreate;
+import com.example.Project_Management.model.dto.ProjectStatsResponse;
+import com.example.Project_Management.model.dto.TaskCommentCreate;
+import com.example.Project_Management.model.dto.TaskCreate;
+import com.example.Project_Management.model.dto.TaskResponse;
+import com.example.Project_Management.model.dto.TaskUpdate;
+import com.example.Project_Management.repo.ProjectRepo;
+import com.example.Project_Management.repo.ProjectStatsRepo;
+import com.example.Project_Management.repo.UserRepo;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class ProjectStatsServiceTest {
+
+    @Autowired private ProjectStatsService projectStatsService;
+    @Autowired private ProjectService projectService;
+    @Autowired private TaskService taskService;
+    @Autowired private TaskCommentService taskCommentService;
+    @Autowired private ProjectCommentService projectCommentService;
+    @Autowired private ProjectRepo projectRepo;
+    @Autowired private ProjectStatsRepo projectStatsRepo;
+    @Autowired private UserRepo userRepo;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void countersFollowTaskAndCommentChanges() {
+        User admin = TestUsers.createAdmin(userRepo);
+        Long projectId = createProject(admin);
+
+        LocalDateTime past = LocalDateTime.now().minusDays(2);
+        TaskResponse late = taskService.createTask(new TaskCreate("Late", null, "IN_PROGRESS", "HIGH", past,
+                projectId, null, admin.getId()), admin.getId());
+        TaskResponse done = taskService.createTask(new TaskCreate("Done", null, "COMPLETED", "HIGH", past,
+                projectId, null, admin.getId()), admin.getId());
+        taskService.createTask(new TaskCreate("Later", null, "NOT_STARTED", null, past.plusDays(10),
+                projectId, null, admin.getId()), admin.getId());
+        taskCommentService.createComment(new TaskCommentCreate("First", late.id(), admin.getId()));
+
+        ProjectStatsResponse stats = projectStatsService.getStats(projectId);
+        assertEquals(3, stats.tasksTotal());
+        assertEquals(Map.of("IN_PROGRESS", 1, "COMPLETED", 1, "NOT_STARTED", 1), stats.byStatus());
+        assertEquals(Map.of("HIGH", 2, ProjectStatsService.UNSET, 1), stats.byPriority());
+        assertEquals(1, stats.overdue());
+        assertEquals(1, stats.taskComments());
+
+        taskService.updateTask(late.id(), new TaskUpdate(null, null, "COMPLETED", null, null, null, null));
+        taskService.deleteTask(done.id());
+
+        stats = projectStatsService.getStats(projectId);
+        assertEquals(2, stats.tasksTotal());
+        assertEquals(Map.of("COMPLETED", 1, "NOT_STARTED", 1), stats.byStatus());
+        assertEquals(0, stats.overdue());
+        assertEquals(2, projectStatsRepo.findById(projectId).orElseThrow().getTasksTotal());
+
+        projectService.deleteProject(projectId);
+
+        assertThrows(RuntimeException.class, () -> projectStatsService.getStats(projectId));
+        assertFalse(projectStatsRepo.existsById(projectId));
+    }
+
+    @Test
+    void singleRowWritesApplyDeltasWithoutRecounting() {
+        User admin = TestUsers.createAdmin(userRepo);
+        Long projectId = createProject(admin);
+        LocalDateTime past = LocalDateTime.now().minusDays(2);
+        // the first write recounts, since there is nothing to apply a delta to yet
+        TaskResponse task = taskService.createTask(new TaskCreate("Late", null, "IN_PROGRESS", "HIGH", past,
+                projectId, null, admin.getId()), admin.getId());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        TaskResponse other = taskService.createTask(new TaskCreate("Other", null, "IN_PROGRESS", "LOW", past,
+                projectId, null, admin.getId()), admin.getId());
+        taskCommentService.createComment(new TaskCommentCreate("On the task", other.id(), admin.getId()));
+        projectCommentService.createComment(new ProjectCommentCreate("On the project", projectId, admin.getId()));
+        taskService.updateTask(task.id(), new TaskUpdate(null, null, "COMPLETED", null, null, null, null));
+        taskService.updateTask(other.id(), new TaskUpdate(null, null, null, null, past.plusDays(10), null, null));
+        taskService.deleteTask(other.id());
+
+        long recounts = Arrays.stream(statistics.getQueries())
+                .filter(query -> query.contains("GROUP BY"))
+                .mapToLong(query -> statistics.getQueryStatistics(query).getExecutionCount())
+                .sum();
+        assertEquals(0, recounts);
+
+        ProjectStatsResponse stats = projectStatsService.getStats(projectId);
+        assertEquals(1, stats.tasksTotal());
+        assertEquals(Map.of("COMPLETED", 1), stats.byStatus());
+        assertEquals(Map.of("HIGH", 1), stats.byPriority());
+        assertEquals(0, stats.overdue());
+        assertEquals(1, stats.projectComments());
+        assertEquals(0, stats.taskComments());
+
+        // a full recount agrees with the deltas
+        projectStatsService.markDirty(projectId);
+        ProjectStatsResponse recounted = projectStatsService.getStats(projectId);
+        assertEquals(stats.tasksTotal(), recounted.tasksTotal());
+        assertEquals(stats.byStatus(), recounted.byStatus());
+        assertEquals(stats.byPriority(), recounted.byPriority());
+        assertEquals(stats.overdue(), recounted.overdue());
+        assertEquals(stats.projectComments(), recounted.projectComments());
+        assertEquals(stats.taskComments(), recounted.taskComments());
+    }
+
+    private Long createProject(User admin) {
+        Project project = new Project();
+        project.setName("Stats");
+        project.setDescription("Description");
+        project.setCreatedByAdmin(admin);
+        return projectRepo.save(project).getId();
+    }
+}
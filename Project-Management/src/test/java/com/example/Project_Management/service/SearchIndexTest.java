@@ -0,0 +1,50 @@
+package com.example.Project_Management.service;
+
+import com.example.Project_Management.TestUsers;
+import com.example.Project_Management.model.User;
+import com.example.Project_Management.model.UserPrincipal;
+import com.example.Project_Management.model.dto.ProjectCreate;
+import com.example.Project_Management.model.dto.ProjectResponse;
+import com.example.Project_Management.model.dto.SearchHit;
+import com.example.Project_Management.model.dto.SearchResults;
+import com.example.Project_Management.model.dto.TaskCreate;
+import com.example.Project_Management.repo.UserRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class SearchIndexTest {
+
+    @Autowired private SearchService searchService;
+    @Autowired private ProjectService projectService;
+    @Autowired private UserRepo userRepo;
+
+    @Test
+    void findsCommittedWritesByPrefixAndRespectsMembership() {
+        User admin = TestUsers.createAdmin(userRepo);
+        User member = TestUsers.create(userRepo, "EMPLOYEE");
+        User outsider = TestUsers.create(userRepo, "EMPLOYEE");
+
+        ProjectResponse project = projectService.addProject(new ProjectCreate("Zephyrine migration", "Move billing",
+                "NOT_STARTED", null, null, List.of(member.getId()), admin.getId(),
+                List.of(new TaskCreate("Zephyrine cutover", "Switch DNS", "NOT_STARTED", "HIGH", null, null, null, null)),
+                List.of("Kick-off for zephyrine next week")));
+
+        SearchResults results = searchService.search("zephyr", new UserPrincipal(member), 0, 20);
+        assertEquals(3, results.total());
+        assertTrue(results.hits().stream().allMatch(hit -> project.id().equals(hit.projectId())));
+        assertEquals(List.of("PROJECT", "TASK"), results.hits().stream()
+                .map(SearchHit::type).filter(type -> !type.equals("PROJECT_COMMENT")).sorted().toList());
+
+        assertEquals(0, searchService.search("zephyrine", new UserPrincipal(outsider), 0, 20).total());
+
+        projectService.deleteProject(project.id());
+        assertEquals(0, searchService.search("zephyrine", new UserPrincipal(admin), 0, 20).total());
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.Project_Management.service;
+
+import com.example.Project_Management.TestUsers;
+import com.example.Project_Management.model.Project;
+import com.example.Project_Management.model.Task;
+import com.example.Project_Management.model.User;
+import com.example.Project_Management.model.dto.TaskBulkResult;
+import com.example.Project_Management.model.dto.TaskBulkUpdate;
+import com.example.Project_Management.repo.ProjectRepo;
+import com.example.Project_Management.repo.TaskRepo;
+import com.example.Project_Management.repo.UserRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class TaskBulkUpdateTest {
+
+    @Autowired private TaskService taskService;
+    @Autowired private ProjectRepo projectRepo;
+    @Autowired private TaskRepo taskRepo;
+    @Autowired private UserRepo userRepo;
+
+    @Test
+    void filterUpdateChangesMatchingTasksAndBumpsVersions() {
+        User admin = TestUsers.createAdmin(userRepo);
+
+        Project project = new Project();
+        project.setName("Bulk");
+        project.setDescription("Description");
+        project.setCreatedByAdmin(admin);
+        project = projectRepo.save(project);
+        long projectVersion = project.getVersion();
+
+        for (String status : new String[]{"IN_PROGRESS", "IN_PROGRESS", "IN_PROGRESS", "ON_HOLD"}) {
+            Task task = new Task();
+            task.setTitle("Task");
+            task.setStatus(status);
+            task.setProject(project);
+            task.setAssignedByAdmin(admin);
+            taskRepo.save(task);
+        }
+
+        TaskBulkResult result = taskService.bulkUpdateTasks(new TaskBulkUpdate(null,
+                new TaskBulkUpdate.Filter(project.getId(), "IN_PROGRESS", null),
+                new TaskBulkUpdate.Changes("COMPLETED", "HIGH", null)));
+
+        assertEquals(3, result.updated());
+        assertEquals(3, result.versions().size());
+        result.versions().forEach(v -> assertEquals(1, v.version()));
+        assertEquals(3, taskRepo.findByProjectId(project.getId()).stream()
+                .filter(t -> "COMPLETED".equals(t.getStatus()) && "HIGH".equals(t.getPriority())).count());
+        assertEquals(projectVersion + 1, projectRepo.findById(project.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void idUpdateAcceptsMoreIdsThanOneChunk() {
+        User admin = TestUsers.createAdmin(userRepo);
+        Project project = new Project();
+        project.setName("Bulk ids");
+        project.setDescription("Description");
+        project.setCreatedByAdmin(admin);
+        project = projectRepo.save(project);
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Task task = new Task();
+            task.setTitle("Task");
+            task.setStatus("IN_PROGRESS");
+            task.setProject(project);
+            task.setAssignedByAdmin(admin);
+            ids.add(taskRepo.save(task).getId());
+        }
+        // padded with ids that match nothing, past a single IN list
+        for (long missing = 1; missing <= 2500; missing++) {
+            ids.add(-missing);
+        }
+
+        TaskBulkResult result = taskService.bulkUpdateTasks(new TaskBulkUpdate(ids, null,
+                new TaskBulkUpdate.Changes("COMPLETED", null, null)));
+
+        assertEquals(3, result.updated());
+        assertEquals(3, taskRepo.findByProjectId(project.getId()).stream()
+                .filter(t -> "COMPLETED".equals(t.getStatus())).count());
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.Project_Management.service;
+
+import com.example.Project_Management.model.User;
+import com.example.Project_Management.model.dto.UserResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UserSuggestIndexTest {
+
+    private final UserSuggestIndex index = new UserSuggestIndex();
+
+    @Test
+    void matchesAnyKeyPrefixAndSurvivesRemovals() {
+        index.put(user(1L, "Ana Marić", "amaric", "Engineering"));
+        index.put(user(2L, "Andrew Mar", "andrew", "Marketing"));
+        index.put(user(3L, "Marta Anders", "marta", "Engineering"));
+
+        // key order: "ana maric", "anders", "andrew"
+        assertEquals(List.of(1L, 3L, 2L), ids(index.suggest("an", 10, null)));
+        // key order: "mar", "maric", "marketing", "marta anders"
+        assertEquals(List.of(2L, 1L, 3L), ids(index.suggest("Mar", 10, null)));
+        assertEquals(List.of(1L), ids(index.suggest("maric", 10, null)));
+        assertEquals(List.of(3L), ids(index.suggest("mar", 10, Set.of(3L))));
+        assertEquals(1, index.suggest("eng", 1, null).size());
+
+        index.remove(1L);
+        assertEquals(List.of(3L, 2L), ids(index.suggest("an", 10, null)));
+        assertEquals(List.of(), ids(index.suggest("amaric", 10, null)));
+
+        index.put(user(2L, "Drew Mar", "andrew", "Sales"));
+        assertEquals(List.of(), ids(index.suggest("mark", 10, null)));
+        assertEquals(List.of(2L), ids(index.suggest("drew", 10, null)));
+    }
+
+    private static List<Long> ids(List<UserResponse> users) {
+        return users.stream().map(UserResponse::id).toList();
+    }
+
+    private static User user(Long id, String name, String username, String department) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setDepartment(department);
+        return user;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.Project_Management.service;
+
+import com.example.Project_Management.TestUsers;
+import com.example.Project_Management.model.Project;
+import com.example.Project_Management.model.Task;
+import com.example.Project_Management.model.TaskComment;
+import com.example.Project_Management.model.User;
+import com.example.Project_Management.model.dto.ImportReport;
+import com.example.Project_Management.repo.ProjectRepo;
+import com.example.Project_Management.repo.TaskCommentRepo;
+import com.example.Project_Management.repo.TaskRepo;
+import com.example.Project_Management.repo.UserRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class WorkspaceTransferServiceTest {
+
+    @Autowired private WorkspaceTransferService workspaceTransferService;
+    @Autowired private ProjectRepo projectRepo;
+    @Autowired private TaskRepo taskRepo;
+    @Autowired private UserRepo userRepo;
+    @Autowired private TaskCommentRepo taskCommentRepo;
+
+    @Test
+    void importOfExportDuplicatesContentButMatchesExistingUsers() {
+        User admin = TestUsers.createAdmin(userRepo);
+        User employee = TestUsers.create(userRepo, "EMPLOYEE");
+
+        Project project = new Project();
+        project.setName("Exported");
+        project.setDescription("Description");
+        project.setCreatedByAdmin(admin);
+        project.setAssignedEmployees(List.of(employee));
+        project = projectRepo.save(project);
+
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setProject(project);
+        task.setAssignedByAdmin(admin);
+        task.setAssignedEmployees(List.of(employee));
+        task = taskRepo.save(task);
+
+        TaskComment comment = new TaskComment();
+        comment.setContent("Comment");
+        comment.setTask(task);
+        comment.setAuthor(employee);
+        taskCommentRepo.save(comment);
+
+        long users = userRepo.count();
+        long projects = projectRepo.count();
+        long tasks = taskRepo.count();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        workspaceTransferService.exportWorkspace(out);
+        ImportReport report = workspaceTransferService.importWorkspace(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(users, report.matchedUsers());
+        assertEquals(users, userRepo.count());
+        assertEquals(projects * 2, projectRepo.count());
+        assertEquals(tasks * 2, taskRepo.count());
+        assertEquals(2, projectRepo.findByAssignedEmployeeId(employee.getId()).size());
+    }
+}
@@ -61,6 +61,13 @@ export interface ProjectResponse {
   createdAt: string;
 }
 
+export interface MyWorkspaceResponse {
+  projects: ProjectResponse[];
+  tasks: TaskResponse[];
+  projectComments: CommentResponse[];
+  taskComments: CommentResponse[];
+}
+
 export interface UserResponse {
   id: number;
   name: string;
@@ -207,6 +214,19 @@ class ApiService {
     }
   }
 
+  // projects, tasks and comments of the current user in one round trip
+  async getMyWorkspace(): Promise<MyWorkspaceResponse> {
+    try {
+      const response = await axios.get<MyWorkspaceResponse>(
+        `${this.baseUrl}/me/workspace`,
+        { headers: this.getAuthHeaders() }
+      );
+      return response.data;
+    } catch (error) {
+      throw new Error('Failed to fetch workspace: ' + String(error));
+    }
+  }
+
   async getMyColleagues(projectId: number): Promise<UserResponse[]> {
     try {
       const response = await axios.get<UserResponse[]>(